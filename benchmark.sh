@@ -0,0 +1,20 @@
+#!/usr/bin/env bash
+
+# Runs the JMH benchmarks (profile "jmh") and stores the JSON result as a baseline.
+#
+# usage: ./benchmark.sh <baseline-name> [jmh args, e.g. "Grid -p size=512"]
+
+set -euo pipefail
+
+if [ $# -lt 1 ]; then
+  echo >&2 "usage: $0 <baseline-name> [jmh args]"
+  exit 1
+fi
+
+name="$1"
+shift
+
+./mvnw -B -Pjmh compile exec:exec -Djmh.args="$* -rf json -rff target/jmh-result.json"
+mkdir -p src/jmh/baseline
+cp target/jmh-result.json "src/jmh/baseline/${name}.json"
+echo "baseline written to src/jmh/baseline/${name}.json"
@@ -0,0 +1,53 @@
+package de.knallisworld.aoc2025.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic (seeded) puzzle-like inputs, so that runs are comparable.
+ */
+class BenchmarkData {
+
+	static final long SEED = 2025;
+
+	/**
+	 * Square maze-like map of {@code '.'} and {@code '#'} with the given wall ratio.
+	 */
+	static List<String> gridLines(final int size, final double wallRatio) {
+		final var random = new SplittableRandom(SEED);
+		final var lines = new ArrayList<String>(size);
+		for (var y = 0; y < size; y++) {
+			final var line = new StringBuilder(size);
+			for (var x = 0; x < size; x++) {
+				line.append(random.nextDouble() < wallRatio ? '#' : '.');
+			}
+			lines.add(line.toString());
+		}
+		// keep the corners free, they are used as start/goal
+		lines.set(0, "." + lines.getFirst().substring(1));
+		final var last = lines.getLast();
+		lines.set(size - 1, last.substring(0, size - 1) + ".");
+		return lines;
+	}
+
+	/**
+	 * Lines of whitespace separated (partially negative) numbers.
+	 */
+	static List<String> numberLines(final int lines, final int numbersPerLine) {
+		final var random = new SplittableRandom(SEED);
+		final var result = new ArrayList<String>(lines);
+		for (var i = 0; i < lines; i++) {
+			final var line = new StringBuilder();
+			for (var j = 0; j < numbersPerLine; j++) {
+				if (j > 0) {
+					line.append(' ');
+				}
+				line.append(random.nextLong(-1_000_000_000L, 1_000_000_000L));
+			}
+			result.add(line.toString());
+		}
+		return result;
+	}
+
+}
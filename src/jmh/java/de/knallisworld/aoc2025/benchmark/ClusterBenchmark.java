@@ -0,0 +1,67 @@
+package de.knallisworld.aoc2025.benchmark;
+
+import de.knallisworld.aoc2025.support.geo.Point2D;
+import de.knallisworld.aoc2025.support.geo.grid2.DynGrid;
+import de.knallisworld.aoc2025.support.geo.grid2.FixGrid;
+import de.knallisworld.aoc2025.support.geo.grid2.GridTraversal;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cluster (flood fill / connected components) search.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClusterBenchmark {
+
+	@Param({"64", "512"})
+	int size;
+
+	FixGrid<Character> fixGrid;
+	DynGrid<Integer, Character> dynGrid;
+
+	@Setup
+	public void setup() {
+		final var lines = BenchmarkData.gridLines(size, 0.4);
+		fixGrid = FixGrid.parseBySymbols2D(Character.class, lines, c -> c);
+		dynGrid = DynGrid.empty();
+		fixGrid.fields().forEach(f -> dynGrid.setValue(f.pos(), f.value()));
+	}
+
+	@Benchmark
+	public long fixGridCluster4() {
+		return fixGrid.fields()
+					  .getCluster4(Point2D.create(0, 0), f -> f.value() == '.')
+					  .count();
+	}
+
+	@Benchmark
+	public long dynGridCluster4() {
+		return dynGrid.fields()
+					  .getCluster4(Point2D.create(0, 0), f -> f.value() == '.')
+					  .count();
+	}
+
+	@Benchmark
+	public int fixGridClusters4() {
+		return fixGrid.fields()
+					  .getClusters4(Character::equals)
+					  .count();
+	}
+
+	@Benchmark
+	public int labelComponents() {
+		return GridTraversal.labelComponents(
+				size,
+				size,
+				GridTraversal.Neighborhood.FOUR,
+				(x, y) -> fixGrid.getValueRequired(x, y) == '.'
+		).count();
+	}
+
+}
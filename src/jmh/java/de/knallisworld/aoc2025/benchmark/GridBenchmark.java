@@ -0,0 +1,151 @@
+package de.knallisworld.aoc2025.benchmark;
+
+import de.knallisworld.aoc2025.support.geo.Point2D;
+import de.knallisworld.aoc2025.support.geo.grid2.CharGrid;
+import de.knallisworld.aoc2025.support.geo.grid2.DynGrid;
+import de.knallisworld.aoc2025.support.geo.grid2.FixGrid;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Get/set/scan of the different grid implementations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GridBenchmark {
+
+	@Param({"64", "512"})
+	int size;
+
+	FixGrid<Character> fixGrid;
+	CharGrid charGrid;
+	DynGrid<Integer, Character> dynGrid;
+
+	@Setup
+	public void setup() {
+		final var lines = BenchmarkData.gridLines(size, 0.3);
+		fixGrid = FixGrid.parseBySymbols2D(Character.class, lines, c -> c);
+		charGrid = CharGrid.parse(lines);
+		dynGrid = DynGrid.empty();
+		fixGrid.fields().forEach(f -> dynGrid.setValue(f.pos(), f.value()));
+	}
+
+	@Benchmark
+	public int fixGridGet() {
+		var count = 0;
+		for (var y = 0; y < size; y++) {
+			for (var x = 0; x < size; x++) {
+				if (fixGrid.getValueRequired(x, y) == '#') {
+					count++;
+				}
+			}
+		}
+		return count;
+	}
+
+	@Benchmark
+	public int charGridGet() {
+		var count = 0;
+		for (var y = 0; y < size; y++) {
+			for (var x = 0; x < size; x++) {
+				if (charGrid.getValueRequired(x, y) == '#') {
+					count++;
+				}
+			}
+		}
+		return count;
+	}
+
+	@Benchmark
+	public int dynGridGet() {
+		var count = 0;
+		for (var y = 0; y < size; y++) {
+			for (var x = 0; x < size; x++) {
+				if (dynGrid.getValueRequired(Point2D.create(x, y)) == '#') {
+					count++;
+				}
+			}
+		}
+		return count;
+	}
+
+	@Benchmark
+	public FixGrid<Character> fixGridSet() {
+		for (var y = 0; y < size; y++) {
+			for (var x = 0; x < size; x++) {
+				fixGrid.setValue(x, y, fixGrid.getValueRequired(size - 1 - x, y));
+			}
+		}
+		return fixGrid;
+	}
+
+	@Benchmark
+	public CharGrid charGridSet() {
+		for (var y = 0; y < size; y++) {
+			for (var x = 0; x < size; x++) {
+				charGrid.setValue(x, y, charGrid.getValueRequired(size - 1 - x, y));
+			}
+		}
+		return charGrid;
+	}
+
+	@Benchmark
+	public long fixGridScanStream() {
+		return fixGrid.fields()
+					  .stream()
+					  .filter(f -> f.value() == '#')
+					  .count();
+	}
+
+	@Benchmark
+	public long fixGridScanParallel() {
+		return fixGrid.fields()
+					  .stream()
+					  .parallel()
+					  .filter(f -> f.value() == '#')
+					  .count();
+	}
+
+	@Benchmark
+	public int fixGridScanCells() {
+		final var count = new int[1];
+		fixGrid.fields().forEachCell((_, _, value) -> {
+			if (value == '#') {
+				count[0]++;
+			}
+		});
+		return count[0];
+	}
+
+	@Benchmark
+	public long dynGridScan() {
+		return dynGrid.count((_, value) -> value == '#');
+	}
+
+	/**
+	 * Vectorized if run with {@code --add-modules jdk.incubator.vector} (default in the jmh profile), compare with
+	 * {@code -Djmh.args="-jvmArgsAppend -Daoc.vector=false"}.
+	 */
+	@Benchmark
+	public long charGridCount() {
+		return charGrid.count('#');
+	}
+
+	@Benchmark
+	public CharGrid charGridRotate() {
+		charGrid.transform().rotateRight();
+		return charGrid;
+	}
+
+	@Benchmark
+	public FixGrid<Character> fixGridRotate() {
+		fixGrid.transform().rotateRight();
+		return fixGrid;
+	}
+
+}
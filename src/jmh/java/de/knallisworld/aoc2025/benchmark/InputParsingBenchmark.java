@@ -0,0 +1,93 @@
+package de.knallisworld.aoc2025.benchmark;
+
+import de.knallisworld.aoc2025.support.puzzle.InputParser;
+import de.knallisworld.aoc2025.support.puzzle.MappedInput;
+import de.knallisworld.aoc2025.support.puzzle.NumberScanner;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading and parsing number lines: line by line (regex split vs. scanner) and the whole (mapped) file at once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InputParsingBenchmark {
+
+	@Param({"1000", "100000"})
+	int lines;
+
+	List<String> input;
+	Path file;
+
+	@Setup
+	public void setup() throws Exception {
+		input = BenchmarkData.numberLines(lines, 8);
+		file = Files.createTempFile("aoc-benchmark", ".txt");
+		Files.write(file, input, StandardCharsets.UTF_8);
+	}
+
+	@TearDown
+	public void tearDown() throws Exception {
+		Files.deleteIfExists(file);
+	}
+
+	@Benchmark
+	public long streamSplit() {
+		return input.stream()
+					.flatMap(line -> InputParser.str2long(line, " "))
+					.mapToLong(Long::longValue)
+					.sum();
+	}
+
+	@Benchmark
+	public long scanner() {
+		var sum = 0L;
+		for (final var line : input) {
+			for (final var value : NumberScanner.longs(line)) {
+				sum += value;
+			}
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public long readAllLines() throws Exception {
+		var sum = 0L;
+		for (final var line : Files.readAllLines(file)) {
+			for (final var value : NumberScanner.longs(line)) {
+				sum += value;
+			}
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public long mappedLines() {
+		try (final var mapped = MappedInput.map(file)) {
+			return mapped.lines()
+						 .flatMapToLong(NumberScanner::longStream)
+						 .sum();
+		}
+	}
+
+	@Benchmark
+	public long mappedWhole() {
+		try (final var mapped = MappedInput.map(file)) {
+			var sum = 0L;
+			for (final var value : NumberScanner.longs(mapped.segment(), true)) {
+				sum += value;
+			}
+			return sum;
+		}
+	}
+
+}
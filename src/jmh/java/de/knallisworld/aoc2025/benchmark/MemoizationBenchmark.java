@@ -0,0 +1,77 @@
+package de.knallisworld.aoc2025.benchmark;
+
+import de.knallisworld.aoc2025.support.lang.IntIntToLongFunction;
+import de.knallisworld.aoc2025.support.lang.Memoization;
+import de.knallisworld.aoc2025.support.lang.MemoizationOptions;
+import de.knallisworld.aoc2025.support.lang.PrimitiveMemoization;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Memoized recursion: number of monotone lattice paths of a {@code size x size} area, which is a DP over
+ * {@code (x, y)}. Every invocation starts with a fresh (empty) memoizer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xss16m")
+public class MemoizationBenchmark {
+
+	@Param({"32", "256"})
+	int size;
+
+	record Key(int x, int y) {
+	}
+
+	@Benchmark
+	public long boxed() {
+		return boxed(MemoizationOptions.withDefault());
+	}
+
+	@Benchmark
+	public long boxedThreadSafe() {
+		return boxed(MemoizationOptions.threadSafe());
+	}
+
+	@Benchmark
+	public long boxedBounded() {
+		return boxed(MemoizationOptions.maximumSize((long) size * size / 2));
+	}
+
+	@Benchmark
+	public long primitive() {
+		final var paths = new IntIntToLongFunction[1];
+		paths[0] = PrimitiveMemoization.memoize(
+				(x, y) -> x == 0 || y == 0 ? 1 : paths[0].applyAsLong(x - 1, y) + paths[0].applyAsLong(x, y - 1)
+		);
+		return paths[0].applyAsLong(size, size);
+	}
+
+	@Benchmark
+	public long primitiveDense() {
+		final var paths = new IntIntToLongFunction[1];
+		paths[0] = PrimitiveMemoization.memoizeDense(
+				(x, y) -> x == 0 || y == 0 ? 1 : paths[0].applyAsLong(x - 1, y) + paths[0].applyAsLong(x, y - 1),
+				size + 1,
+				size + 1
+		);
+		return paths[0].applyAsLong(size, size);
+	}
+
+	private long boxed(final Consumer<MemoizationOptions.MemoizationOptionsBuilder> configurer) {
+		@SuppressWarnings("unchecked") final Function<Key, Long>[] paths = new Function[1];
+		paths[0] = Memoization.memoize(
+				key -> key.x() == 0 || key.y() == 0
+						? 1L
+						: paths[0].apply(new Key(key.x() - 1, key.y())) + paths[0].apply(new Key(key.x(), key.y() - 1)),
+				configurer
+		);
+		return paths[0].apply(new Key(size, size));
+	}
+
+}
@@ -0,0 +1,75 @@
+package de.knallisworld.aoc2025.benchmark;
+
+import de.knallisworld.aoc2025.support.geo.PackedPoint2D;
+import de.knallisworld.aoc2025.support.geo.Point2D;
+import de.knallisworld.aoc2025.support.geo.Point2DInterner;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creation of all points of a {@code size x size} area, boxed with the different interners vs. packed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PointBenchmark {
+
+	@Param({"64", "512"})
+	int size;
+
+	@Param({"disabled", "hashed", "dense"})
+	String interner;
+
+	@Setup
+	public void setup() {
+		Point2D.useInterner(switch (interner) {
+			case "disabled" -> Point2DInterner.disabled();
+			case "hashed" -> Point2DInterner.hashed();
+			case "dense" -> Point2DInterner.dense(0, 0, size - 1, size - 1);
+			default -> throw new IllegalArgumentException(interner);
+		});
+	}
+
+	@TearDown
+	public void tearDown() {
+		Point2D.useInterner(Point2DInterner.hashed());
+	}
+
+	@Benchmark
+	public void create(final Blackhole bh) {
+		for (var y = 0; y < size; y++) {
+			for (var x = 0; x < size; x++) {
+				bh.consume(Point2D.create(x, y));
+			}
+		}
+	}
+
+	@Benchmark
+	public void createWithNeighbours(final Blackhole bh) {
+		for (var y = 0; y < size; y++) {
+			for (var x = 0; x < size; x++) {
+				final var p = Point2D.create(x, y);
+				bh.consume(p.up());
+				bh.consume(p.right());
+				bh.consume(p.down());
+				bh.consume(p.left());
+			}
+		}
+	}
+
+	@Benchmark
+	public void packed(final Blackhole bh) {
+		for (var y = 0; y < size; y++) {
+			for (var x = 0; x < size; x++) {
+				final var p = PackedPoint2D.pack(x, y);
+				PackedPoint2D.forEachAdjacent4(p, bh::consume);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,84 @@
+package de.knallisworld.aoc2025.benchmark;
+
+import de.knallisworld.aoc2025.support.geo.grid2.CharGrid;
+import de.knallisworld.aoc2025.support.geo.grid2.Direction;
+import de.knallisworld.aoc2025.support.search.GridStateSpace;
+import de.knallisworld.aoc2025.support.search.SearchResult;
+import de.knallisworld.aoc2025.support.search.ShortestPath;
+import org.jgrapht.alg.shortestpath.DijkstraShortestPath;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.jgrapht.graph.SimpleDirectedWeightedGraph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shortest path from the top left to the bottom right corner of a maze (weighted: entering a cell costs 1 to 9),
+ * the search module vs. jgrapht.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShortestPathBenchmark {
+
+	@Param({"64", "512"})
+	int size;
+
+	CharGrid grid;
+	GridStateSpace space;
+	SimpleDirectedWeightedGraph<Integer, DefaultWeightedEdge> graph;
+
+	@Setup
+	public void setup() {
+		grid = CharGrid.parse(BenchmarkData.gridLines(size, 0.25));
+		space = GridStateSpace.positions(size, size, (s, state, consumer) -> {
+			final var x = s.x(state);
+			final var y = s.y(state);
+			for (final var direction : Direction.values()) {
+				final var nx = x + direction.dx();
+				final var ny = y + direction.dy();
+				if (s.contains(nx, ny) && grid.getValueRequired(nx, ny) != '#') {
+					consumer.accept(s.state(nx, ny), cost(nx, ny));
+				}
+			}
+		});
+		graph = new SimpleDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+		for (var state = 0; state < space.size(); state++) {
+			graph.addVertex(state);
+		}
+		for (var state = 0; state < space.size(); state++) {
+			final var source = state;
+			space.forEachSuccessor(state, (target, cost) -> graph.setEdgeWeight(graph.addEdge(source, target), cost));
+		}
+	}
+
+	private static int cost(final int x, final int y) {
+		return 1 + Math.floorMod(x * 31 + y * 17, 9);
+	}
+
+	@Benchmark
+	public SearchResult dijkstra() {
+		final var goal = space.state(size - 1, size - 1);
+		return ShortestPath.dijkstra(space, space.state(0, 0), state -> state == goal);
+	}
+
+	@Benchmark
+	public SearchResult aStar() {
+		return ShortestPath.aStar(space, space.state(0, 0), size - 1, size - 1);
+	}
+
+	@Benchmark
+	public SearchResult dial() {
+		final var goal = space.state(size - 1, size - 1);
+		return ShortestPath.dial(space, space.state(0, 0), state -> state == goal, 9);
+	}
+
+	@Benchmark
+	public double jgrapht() {
+		return new DijkstraShortestPath<>(graph).getPathWeight(0, space.state(size - 1, size - 1));
+	}
+
+}
@@ -0,0 +1,4 @@
+@NullMarked
+package de.knallisworld.aoc2025.benchmark;
+
+import org.jspecify.annotations.NullMarked;
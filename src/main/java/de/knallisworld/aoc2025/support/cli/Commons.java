@@ -1,5 +1,9 @@
 package de.knallisworld.aoc2025.support.cli;
 
+import de.knallisworld.aoc2025.support.lang.Memoization;
+import org.jspecify.annotations.Nullable;
+
+import java.io.PrintStream;
 import java.io.Serializable;
 import java.util.function.Supplier;
 
@@ -7,28 +11,95 @@ public class Commons {
 
 	static final int YEAR = 2025;
 
+	/**
+	 * Bound by the {@link Runner} while executing a day; otherwise all output goes to {@link System#out}.
+	 */
+	static final ScopedValue<RunContext> CONTEXT = ScopedValue.newInstance();
+
+	/**
+	 * Context for threads without the binding (parallel streams, fork-join tasks), only set by the {@link Runner} if
+	 * days run sequentially. Both the output stream and the result recording are thread-safe.
+	 */
+	static volatile @Nullable RunContext shared;
+
+	static @Nullable RunContext context() {
+		return CONTEXT.isBound() ? CONTEXT.get() : shared;
+	}
+
+	static PrintStream out() {
+		final var context = context();
+		return context != null ? context.out() : System.out;
+	}
+
 	public static void printHeader(long day) {
-		System.out.println("#".repeat(21));
-		System.out.printf("# 🎄AOC %d day %02d #%n", YEAR, day);
-		System.out.println("#".repeat(21));
-		System.out.println();
+		final var out = out();
+		out.println("#".repeat(21));
+		out.printf("# 🎄AOC %d day %02d #%n", YEAR, day);
+		out.println("#".repeat(21));
+		out.println();
 	}
 
+	/**
+	 * Prints the solution and the time it took. With {@link Measurement#isEnabled()}, the solution is computed
+	 * repeatedly and detailed timings/allocations are printed as well.
+	 */
 	public static void printSolution(final Serializable part,
 									 final Supplier<Serializable> solutionGet) {
-		final var started = System.currentTimeMillis();
-		final var result = solutionGet.get();
-		final var used = System.currentTimeMillis() - started;
-		System.out.printf("🎉 Solution of part %s took %7.3fs: %s%n", part, used / 1000D, result);
+		final var context = context();
+		if (context != null && !context.includes(part)) {
+			return;
+		}
+		final var out = out();
+		final Serializable result;
+		final long used;
+		if (Measurement.isEnabled()) {
+			final var measured = Measurement.measure(solutionGet);
+			result = measured.value();
+			used = measured.median();
+			out.printf("🎉 Solution of part %s took %7.3fs: %s%n", part, used / 1e9, result);
+			out.printf("   ⏱️ %s%n", measured);
+		} else {
+			final var started = System.nanoTime();
+			result = solutionGet.get();
+			used = System.nanoTime() - started;
+			out.printf("🎉 Solution of part %s took %7.3fs: %s%n", part, used / 1e9, result);
+		}
+		if (context != null) {
+			context.record(part, result, used);
+		}
 	}
 
+	/**
+	 * Compiles an object (e.g. the parsed input) and prints the time it took. With {@link Measurement#isEnabled()},
+	 * it is compiled repeatedly and the last result is returned.
+	 */
 	public static <T> T compileObject(final Serializable description,
 									  final Supplier<T> compiler) {
-		final var started = System.currentTimeMillis();
+		final var out = out();
+		if (Measurement.isEnabled()) {
+			final var measured = Measurement.measure(compiler);
+			out.printf("💪 Compiling object '%s' took %7.3fs%n", description, measured.median() / 1e9);
+			out.printf("   ⏱️ %s%n", measured);
+			return measured.value();
+		}
+		final var started = System.nanoTime();
 		final var result = compiler.get();
-		final var used = System.currentTimeMillis() - started;
-		System.out.printf("💪 Compiling object '%s' took %7.3fs%n", description, used / 1000D);
+		final var used = System.nanoTime() - started;
+		out.printf("💪 Compiling object '%s' took %7.3fs%n", description, used / 1e9);
 		return result;
 	}
 
+	/**
+	 * Prints the stats of all memoized functions which are recording stats, typically at the end of a run.
+	 */
+	public static void printMemoizationStats() {
+		final var stats = Memoization.stats();
+		if (stats.isEmpty()) {
+			return;
+		}
+		final var out = out();
+		out.println();
+		stats.forEach(s -> out.printf("📊 %s%n", s));
+	}
+
 }
@@ -0,0 +1,168 @@
+package de.knallisworld.aoc2025.support.cli;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Repeated measurement of a solution: warmup iterations (for the JIT), then measured iterations reporting
+ * min/median/p99 wall time, allocated bytes and garbage collections.
+ * <p>
+ * Enabled by the system property {@value #ENABLED_PROPERTY}; the number of iterations can be changed via
+ * {@value #WARMUPS_PROPERTY} and {@value #ITERATIONS_PROPERTY}. Allocations are those of the calling thread only,
+ * work of other threads (e.g. parallel streams) is not included.
+ */
+public class Measurement {
+
+	public static final String ENABLED_PROPERTY = "aoc.measure";
+	public static final String WARMUPS_PROPERTY = "aoc.measure.warmups";
+	public static final String ITERATIONS_PROPERTY = "aoc.measure.iterations";
+
+	static final int DEFAULT_WARMUPS = 5;
+	static final int DEFAULT_ITERATIONS = 10;
+
+	/**
+	 * @param nanos          wall time of each measured iteration, sorted ascending
+	 * @param allocatedBytes allocated bytes per measured iteration (average), -1 if unsupported by the JVM
+	 * @param gcCount        garbage collections during all measured iterations
+	 * @param gcMillis       time spent in garbage collections during all measured iterations
+	 */
+	public record Result<T>(T value, long[] nanos, long allocatedBytes, long gcCount, long gcMillis) {
+
+		public long min() {
+			return nanos[0];
+		}
+
+		public long median() {
+			return percentile(50);
+		}
+
+		public long p99() {
+			return percentile(99);
+		}
+
+		/**
+		 * Nearest-rank percentile.
+		 */
+		public long percentile(final int percentile) {
+			final var rank = (int) Math.ceil(percentile / 100.0 * nanos.length);
+			return nanos[Math.clamp(rank - 1, 0, nanos.length - 1)];
+		}
+
+		@Override
+		public String toString() {
+			return "min %s, median %s, p99 %s (n=%d), alloc %s/op, gc %d (%dms)".formatted(
+					formatNanos(min()),
+					formatNanos(median()),
+					formatNanos(p99()),
+					nanos.length,
+					allocatedBytes < 0 ? "n/a" : formatBytes(allocatedBytes),
+					gcCount,
+					gcMillis
+			);
+		}
+
+	}
+
+	public static boolean isEnabled() {
+		return Boolean.getBoolean(ENABLED_PROPERTY);
+	}
+
+	/**
+	 * Measures with the iterations configured via system properties.
+	 */
+	public static <T> Result<T> measure(final Supplier<T> supplier) {
+		return measure(
+				supplier,
+				Integer.getInteger(WARMUPS_PROPERTY, DEFAULT_WARMUPS),
+				Integer.getInteger(ITERATIONS_PROPERTY, DEFAULT_ITERATIONS)
+		);
+	}
+
+	public static <T> Result<T> measure(final Supplier<T> supplier, final int warmups, final int iterations) {
+		if (warmups < 0 || iterations < 1) {
+			throw new IllegalArgumentException("invalid number of iterations");
+		}
+		for (var i = 0; i < warmups; i++) {
+			supplier.get();
+		}
+
+		final var gcBeans = ManagementFactory.getGarbageCollectorMXBeans();
+		final var gcCountBefore = gcCount(gcBeans);
+		final var gcMillisBefore = gcMillis(gcBeans);
+		final var allocatedBefore = allocatedBytes();
+
+		final var nanos = new long[iterations];
+		var started = System.nanoTime();
+		var value = supplier.get();
+		nanos[0] = System.nanoTime() - started;
+		for (var i = 1; i < iterations; i++) {
+			started = System.nanoTime();
+			value = supplier.get();
+			nanos[i] = System.nanoTime() - started;
+		}
+
+		final var allocatedAfter = allocatedBytes();
+		Arrays.sort(nanos);
+		return new Result<>(
+				value,
+				nanos,
+				allocatedBefore < 0 ? -1 : (allocatedAfter - allocatedBefore) / iterations,
+				gcCount(gcBeans) - gcCountBefore,
+				gcMillis(gcBeans) - gcMillisBefore
+		);
+	}
+
+	/**
+	 * @return bytes allocated by the current thread so far, -1 if unsupported
+	 */
+	static long allocatedBytes() {
+		if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+			&& bean.isThreadAllocatedMemorySupported()
+			&& bean.isThreadAllocatedMemoryEnabled()) {
+			return bean.getCurrentThreadAllocatedBytes();
+		}
+		return -1;
+	}
+
+	private static long gcCount(final List<GarbageCollectorMXBean> beans) {
+		// -1 means undefined for a collector
+		return beans.stream()
+					.mapToLong(GarbageCollectorMXBean::getCollectionCount)
+					.filter(count -> count > 0)
+					.sum();
+	}
+
+	private static long gcMillis(final List<GarbageCollectorMXBean> beans) {
+		return beans.stream()
+					.mapToLong(GarbageCollectorMXBean::getCollectionTime)
+					.filter(time -> time > 0)
+					.sum();
+	}
+
+	static String formatNanos(final long nanos) {
+		if (nanos < 10_000L) {
+			return "%dns".formatted(nanos);
+		}
+		if (nanos < 10_000_000L) {
+			return "%.1fµs".formatted(nanos / 1e3);
+		}
+		if (nanos < 10_000_000_000L) {
+			return "%.1fms".formatted(nanos / 1e6);
+		}
+		return "%.2fs".formatted(nanos / 1e9);
+	}
+
+	static String formatBytes(final long bytes) {
+		if (bytes < 10 * 1024L) {
+			return "%dB".formatted(bytes);
+		}
+		if (bytes < 10 * 1024L * 1024L) {
+			return "%.1fKiB".formatted(bytes / 1024.0);
+		}
+		return "%.1fMiB".formatted(bytes / (1024.0 * 1024.0));
+	}
+
+}
@@ -0,0 +1,30 @@
+package de.knallisworld.aoc2025.support.cli;
+
+import java.io.PrintStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Output sink and result collection of a single day executed by the {@link Runner}, bound to {@link Commons#CONTEXT}.
+ *
+ * @param parts selected parts, empty for all
+ */
+record RunContext(int day, PrintStream out, Set<String> parts, List<Runner.PartResult> results) {
+
+	RunContext(final int day, final PrintStream out, final Set<String> parts) {
+		this(day, out, parts, new ArrayList<>());
+	}
+
+	boolean includes(final Serializable part) {
+		return parts.isEmpty() || parts.contains(String.valueOf(part));
+	}
+
+	void record(final Serializable part, final Serializable solution, final long nanos) {
+		synchronized (results) {
+			results.add(new Runner.PartResult(day, String.valueOf(part), String.valueOf(solution), nanos));
+		}
+	}
+
+}
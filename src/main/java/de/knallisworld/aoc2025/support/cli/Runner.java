@@ -0,0 +1,367 @@
+package de.knallisworld.aoc2025.support.cli;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.jspecify.annotations.Nullable;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Runs multiple days in one JVM, so startup and JIT warmup are shared.
+ * <p>
+ * Days are discovered on the classpath ({@code dayNN.DayNN} with a {@code main} method) and executed reflectively.
+ * Output printed via {@link Commons} is buffered per day and printed in day order, so that concurrently running
+ * days do not interleave; output printed directly to {@link System#out} is not captured.
+ * <p>
+ * CLI: {@code --days=1,2,5 --parts=1 --parallel=4|virtual --warmups=2 --report=target/report.json|.csv}
+ */
+public class Runner {
+
+	private static final String BASE_PACKAGE = "de/knallisworld/aoc2025";
+	private static final Pattern DAY_CLASS = Pattern.compile(".*/day(\\d{2})/Day\\1\\.class$");
+
+	/**
+	 * @param nanos wall time of the solution, the median in measurement mode
+	 */
+	public record PartResult(int day, String part, String solution, long nanos) {
+	}
+
+	/**
+	 * @param nanos wall time of the whole (measured) day, including input parsing
+	 * @param error failure message, null if successful
+	 */
+	public record DayResult(int day, List<PartResult> parts, long nanos, @Nullable String error) {
+	}
+
+	@Getter
+	@Builder
+	public static class RunnerOptions {
+
+		/**
+		 * Days to run, empty for all discovered.
+		 */
+		@Builder.Default
+		private Set<Integer> days = Set.of();
+
+		/**
+		 * Parts to run, empty for all.
+		 */
+		@Builder.Default
+		private Set<String> parts = Set.of();
+
+		/**
+		 * Number of days running concurrently, 1 for sequential.
+		 */
+		@Builder.Default
+		private int parallelism = 1;
+
+		/**
+		 * Runs each day on its own virtual thread, {@link #parallelism} is ignored then.
+		 */
+		@Builder.Default
+		private boolean virtualThreads = false;
+
+		/**
+		 * Number of discarded runs of each day before the reported one.
+		 */
+		@Builder.Default
+		private int warmups = 0;
+
+	}
+
+	static void main(final String[] args) {
+		final var options = RunnerOptions.builder();
+		@Nullable Path report = null;
+		for (final var arg : args) {
+			final var parts = arg.split("=", 2);
+			final var value = parts.length > 1 ? parts[1] : "";
+			switch (parts[0]) {
+				case "--days" -> options.days(Arrays.stream(value.split(","))
+													.map(String::strip)
+													.map(Integer::parseInt)
+													.collect(Collectors.toSet()));
+				case "--parts" -> options.parts(Arrays.stream(value.split(","))
+													  .map(String::strip)
+													  .collect(Collectors.toSet()));
+				case "--parallel" -> {
+					if (value.equals("virtual")) {
+						options.virtualThreads(true);
+					} else {
+						options.parallelism(Integer.parseInt(value));
+					}
+				}
+				case "--warmups" -> options.warmups(Integer.parseInt(value));
+				case "--report" -> report = Path.of(value);
+				default -> throw new IllegalArgumentException("unknown argument: " + arg);
+			}
+		}
+		final var results = run(options.build());
+		Commons.printMemoizationStats();
+		if (report != null) {
+			writeReport(results, report);
+			System.out.printf("📝 Report written to %s%n", report);
+		}
+	}
+
+	/**
+	 * Runs the days with the given options, printing their output to {@link System#out} in day order.
+	 */
+	public static List<DayResult> run(final Consumer<RunnerOptions.RunnerOptionsBuilder> configurer) {
+		final var builder = RunnerOptions.builder();
+		configurer.accept(builder);
+		return run(builder.build());
+	}
+
+	static List<DayResult> run(final RunnerOptions options) {
+		final var days = discoverDays();
+		if (!options.getDays().isEmpty()) {
+			days.keySet().retainAll(options.getDays());
+		}
+
+		final var executor = options.isVirtualThreads()
+				? Executors.newVirtualThreadPerTaskExecutor()
+				: Executors.newFixedThreadPool(Math.max(options.getParallelism(), 1));
+		// only one day at a time: its unbound threads (parallel streams, fork-join tasks) can share its context
+		final var sequential = !options.isVirtualThreads() && (options.getParallelism() <= 1 || days.size() <= 1);
+		try (executor) {
+			final var futures = new ArrayList<Future<Execution>>();
+			days.forEach((day, main) -> futures.add(executor.submit(() -> execute(day, main, options, sequential))));
+			final var results = new ArrayList<DayResult>();
+			// printing in submission order: a day's output is only printed once it is complete
+			for (final var future : futures) {
+				final var execution = future.get();
+				System.out.print(execution.output());
+				System.out.flush();
+				results.add(execution.result());
+			}
+			return results;
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		} catch (final ExecutionException e) {
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	/**
+	 * @return main methods by day, ordered by day
+	 */
+	static SortedMap<Integer, Method> discoverDays() {
+		final var resolver = new PathMatchingResourcePatternResolver(Runner.class.getClassLoader());
+		final var days = new TreeMap<Integer, Method>();
+		try {
+			for (final var resource : resolver.getResources("classpath*:" + BASE_PACKAGE + "/day*/Day*.class")) {
+				final var matcher = DAY_CLASS.matcher(resource.getURL().toString());
+				if (!matcher.matches()) {
+					continue;
+				}
+				final var id = matcher.group(1);
+				final var className = "%s/day%s/Day%s".formatted(BASE_PACKAGE, id, id).replace('/', '.');
+				final var main = findMain(Class.forName(className));
+				if (main != null) {
+					days.put(Integer.parseInt(id), main);
+				}
+			}
+		} catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		} catch (final ClassNotFoundException e) {
+			throw new IllegalStateException(e);
+		}
+		return days;
+	}
+
+	/**
+	 * Finds the launch method like the java launcher does: {@code main(String[])} before {@code main()}, and the
+	 * method may be an instance method which is not public (JEP 512).
+	 */
+	private static @Nullable Method findMain(final Class<?> type) {
+		for (final var parameters : List.<Class<?>[]>of(new Class<?>[]{String[].class}, new Class<?>[0])) {
+			try {
+				final var method = type.getDeclaredMethod("main", parameters);
+				if (Modifier.isPrivate(method.getModifiers())) {
+					continue;
+				}
+				method.setAccessible(true);
+				return method;
+			} catch (final NoSuchMethodException e) {
+				// try next
+			}
+		}
+		return null;
+	}
+
+	private record Execution(DayResult result, String output) {
+	}
+
+	private static Execution execute(final int day,
+									 final Method main,
+									 final RunnerOptions options,
+									 final boolean sequential) {
+		final var discard = new PrintStream(OutputStream.nullOutputStream(), false, StandardCharsets.UTF_8);
+		for (var i = 0; i < options.getWarmups(); i++) {
+			invoke(main, new RunContext(day, discard, options.getParts()), sequential);
+		}
+
+		final var buffer = new ByteArrayOutputStream();
+		final var out = new PrintStream(buffer, false, StandardCharsets.UTF_8);
+		final var context = new RunContext(day, out, options.getParts());
+		final var started = System.nanoTime();
+		final var error = invoke(main, context, sequential);
+		final var used = System.nanoTime() - started;
+		if (error != null) {
+			out.printf("💥 Day %02d failed: %s%n", day, error);
+		}
+		out.println();
+		out.flush();
+		return new Execution(
+				new DayResult(day, List.copyOf(context.results()), used, error),
+				buffer.toString(StandardCharsets.UTF_8)
+		);
+	}
+
+	/**
+	 * Binds the context to the calling thread only. Other threads of the day (parallel streams, fork-join or executor
+	 * tasks) do not inherit the binding: they use the {@link Commons#shared} context, which is only set if days run
+	 * sequentially; otherwise their output goes to {@link System#out} and their solutions are not part of the report.
+	 *
+	 * @param sequential whether no other day runs concurrently
+	 * @return failure message, null if successful
+	 */
+	private static @Nullable String invoke(final Method main, final RunContext context, final boolean sequential) {
+		final var error = new String[1];
+		if (sequential) {
+			Commons.shared = context;
+		}
+		try {
+			ScopedValue.where(Commons.CONTEXT, context).run(() -> invoke0(main, error));
+		} finally {
+			if (sequential) {
+				Commons.shared = null;
+			}
+		}
+		return error[0];
+	}
+
+	private static void invoke0(final Method main, final @Nullable String[] error) {
+		try {
+			final var target = Modifier.isStatic(main.getModifiers())
+					? null
+					: newInstance(main.getDeclaringClass());
+			if (main.getParameterCount() == 1) {
+				main.invoke(target, (Object) new String[0]);
+			} else {
+				main.invoke(target);
+			}
+		} catch (final InvocationTargetException e) {
+			error[0] = String.valueOf(e.getCause());
+		} catch (final ReflectiveOperationException e) {
+			error[0] = String.valueOf(e);
+		}
+	}
+
+	private static Object newInstance(final Class<?> type) throws ReflectiveOperationException {
+		final var constructor = type.getDeclaredConstructor();
+		constructor.setAccessible(true);
+		return constructor.newInstance();
+	}
+
+	/**
+	 * Writes the results as JSON or, if the file name ends with {@code .csv}, as CSV (one line per part).
+	 */
+	public static void writeReport(final List<DayResult> results, final Path file) {
+		final var content = file.getFileName().toString().endsWith(".csv") ? toCsv(results) : toJson(results);
+		try {
+			final var parent = file.toAbsolutePath().getParent();
+			if (parent != null) {
+				Files.createDirectories(parent);
+			}
+			Files.writeString(file, content, StandardCharsets.UTF_8);
+		} catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	static String toCsv(final List<DayResult> results) {
+		final var csv = new StringBuilder("day,part,nanos,solution,error\n");
+		for (final var day : results) {
+			if (day.parts().isEmpty()) {
+				csv.append("%d,,%d,,%s%n".formatted(day.day(), day.nanos(), csvValue(day.error())));
+			}
+			for (final var part : day.parts()) {
+				csv.append("%d,%s,%d,%s,%s%n".formatted(
+						day.day(), csvValue(part.part()), part.nanos(), csvValue(part.solution()), csvValue(day.error())
+				));
+			}
+		}
+		return csv.toString();
+	}
+
+	private static String csvValue(final @Nullable String value) {
+		if (value == null) {
+			return "";
+		}
+		if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+			return "\"" + value.replace("\"", "\"\"") + "\"";
+		}
+		return value;
+	}
+
+	static String toJson(final List<DayResult> results) {
+		return results.stream()
+					  .map(day -> "  {\"day\": %d, \"nanos\": %d, \"error\": %s, \"parts\": [%s]}".formatted(
+							  day.day(),
+							  day.nanos(),
+							  jsonValue(day.error()),
+							  day.parts()
+								 .stream()
+								 .map(part -> "{\"part\": %s, \"nanos\": %d, \"solution\": %s}".formatted(
+										 jsonValue(part.part()), part.nanos(), jsonValue(part.solution())
+								 ))
+								 .collect(Collectors.joining(", "))
+					  ))
+					  .collect(Collectors.joining(",\n", "[\n", "\n]\n"));
+	}
+
+	private static String jsonValue(final @Nullable String value) {
+		if (value == null) {
+			return "null";
+		}
+		final var json = new StringBuilder("\"");
+		for (final var c : value.toCharArray()) {
+			switch (c) {
+				case '"' -> json.append("\\\"");
+				case '\\' -> json.append("\\\\");
+				case '\n' -> json.append("\\n");
+				case '\r' -> json.append("\\r");
+				case '\t' -> json.append("\\t");
+				default -> {
+					if (c < 0x20) {
+						json.append("\\u%04x".formatted((int) c));
+					} else {
+						json.append(c);
+					}
+				}
+			}
+		}
+		return json.append('"').toString();
+	}
+
+}
@@ -0,0 +1,124 @@
+package de.knallisworld.aoc2025.support.geo;
+
+import java.util.function.LongConsumer;
+
+import static java.lang.Math.abs;
+
+/**
+ * Allocation-free integer coordinates packed into a single {@code long}: y in the upper, x in the lower 32 bits.
+ * <p>
+ * Counterpart of {@link Point2D} for hot paths (flood fills, path searches) where boxing and interning dominate.
+ */
+@SuppressWarnings("unused")
+public class PackedPoint2D {
+
+	public static long pack(final int x, final int y) {
+		return ((long) y << 32) | (x & 0xFFFFFFFFL);
+	}
+
+	public static long of(final Point2D<Integer> p) {
+		return pack(p.getX(), p.getY());
+	}
+
+	public static Point2D<Integer> toPoint2D(final long p) {
+		return Point2D.create(x(p), y(p));
+	}
+
+	public static int x(final long p) {
+		return (int) p;
+	}
+
+	public static int y(final long p) {
+		return (int) (p >> 32);
+	}
+
+	public static long add(final long p, final int dx, final int dy) {
+		return pack(x(p) + dx, y(p) + dy);
+	}
+
+	public static long add(final long p, final long other) {
+		return add(p, x(other), y(other));
+	}
+
+	public static long up(final long p) {
+		return up(p, 1);
+	}
+
+	public static long up(final long p, final int amount) {
+		return add(p, 0, -amount);
+	}
+
+	public static long upLeft(final long p) {
+		return add(p, -1, -1);
+	}
+
+	public static long upRight(final long p) {
+		return add(p, 1, -1);
+	}
+
+	public static long right(final long p) {
+		return right(p, 1);
+	}
+
+	public static long right(final long p, final int amount) {
+		return add(p, amount, 0);
+	}
+
+	public static long down(final long p) {
+		return down(p, 1);
+	}
+
+	public static long down(final long p, final int amount) {
+		return add(p, 0, amount);
+	}
+
+	public static long downLeft(final long p) {
+		return add(p, -1, 1);
+	}
+
+	public static long downRight(final long p) {
+		return add(p, 1, 1);
+	}
+
+	public static long left(final long p) {
+		return left(p, 1);
+	}
+
+	public static long left(final long p, final int amount) {
+		return add(p, -amount, 0);
+	}
+
+	/**
+	 * Emits the four orthogonal neighbours in the same order as {@link Point2D#getAdjacents4()}.
+	 */
+	public static void forEachAdjacent4(final long p, final LongConsumer consumer) {
+		consumer.accept(up(p));
+		consumer.accept(right(p));
+		consumer.accept(down(p));
+		consumer.accept(left(p));
+	}
+
+	/**
+	 * Emits the eight surrounding neighbours in the same order as {@link Point2D#getAdjacents8()}.
+	 */
+	public static void forEachAdjacent8(final long p, final LongConsumer consumer) {
+		consumer.accept(up(p));
+		consumer.accept(upRight(p));
+		consumer.accept(right(p));
+		consumer.accept(downRight(p));
+		consumer.accept(down(p));
+		consumer.accept(downLeft(p));
+		consumer.accept(left(p));
+		consumer.accept(upLeft(p));
+	}
+
+	@SuppressWarnings("SpellCheckingInspection")
+	public static long manhattenDistance(final long a, final long b) {
+		return abs((long) x(b) - x(a)) + abs((long) y(b) - y(a));
+	}
+
+	public static String toString(final long p) {
+		return "(%d/%d)".formatted(x(p), y(p));
+	}
+
+}
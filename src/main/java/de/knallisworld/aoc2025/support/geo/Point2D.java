@@ -5,8 +5,6 @@ import lombok.EqualsAndHashCode;
 import org.jspecify.annotations.Nullable;
 
 import java.util.ArrayList;
-import java.util.Map;
-import java.util.WeakHashMap;
 import java.util.function.BiFunction;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
@@ -17,7 +15,7 @@ import static java.util.Objects.requireNonNullElse;
 @EqualsAndHashCode(of = {"x", "y"})
 public class Point2D<T extends Number> {
 
-	static final Map<Number, Map<Number, Point2D<?>>> CACHE = new WeakHashMap<>();
+	private static volatile Point2DInterner interner = Point2DInterner.hashed();
 
 	static final BiFunction<Number, Integer, Number> DEFAULT_ADDER = (t, addingValue) -> {
 		if (t instanceof int i) {
@@ -35,14 +33,24 @@ public class Point2D<T extends Number> {
 
 	private final @Nullable BiFunction<T, Integer, T> adder;
 
+	/**
+	 * Replaces the interning strategy used for all subsequently created points.
+	 */
+	public static void useInterner(final Point2DInterner interner) {
+		Point2D.interner = interner;
+	}
+
+	public static Point2DInterner interner() {
+		return interner;
+	}
+
 	/**
 	 * Ensure instances are unique, improve memory usage
 	 */
 	private static <T extends Number> Point2D<T> lookupCache(final T x,
 															 final T y,
 															 final Supplier<Point2D<T>> creator) {
-		return (Point2D<T>) CACHE.computeIfAbsent(x, _ -> new WeakHashMap<>())
-								 .computeIfAbsent(y, _ -> creator.get());
+		return interner.lookup(x, y, creator);
 	}
 
 	public static <T extends Number> Point2D<T> create(
@@ -0,0 +1,155 @@
+package de.knallisworld.aoc2025.support.geo;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Interning strategy of {@link Point2D} instances, see {@link Point2D#useInterner(Point2DInterner)}.
+ * <p>
+ * All strategies are thread-safe and record hit/miss/size counters, so it can be verified whether interning pays off.
+ */
+public abstract class Point2DInterner {
+
+	public record Stats(long hits, long misses, long size) {
+
+		public double hitRate() {
+			final var total = hits + misses;
+			return total == 0 ? 0 : (double) hits / total;
+		}
+
+		@Override
+		public String toString() {
+			return "hits=%d, misses=%d, size=%d, hitRate=%.2f%%".formatted(hits, misses, size, hitRate() * 100);
+		}
+
+	}
+
+	final LongAdder hits = new LongAdder();
+	final LongAdder misses = new LongAdder();
+	final LongAdder size = new LongAdder();
+
+	/**
+	 * No interning at all, every lookup creates a new instance.
+	 */
+	public static Point2DInterner disabled() {
+		return new Disabled();
+	}
+
+	/**
+	 * Interning in a concurrent hash table (lock-free reads).
+	 */
+	public static Point2DInterner hashed() {
+		return new Hashed();
+	}
+
+	/**
+	 * Interning of integer points within the given bounding box (inclusive) in a dense array,
+	 * all other points are interned in a concurrent hash table.
+	 */
+	public static Point2DInterner dense(final int minX, final int minY, final int maxX, final int maxY) {
+		return new Dense(minX, minY, maxX, maxY);
+	}
+
+	abstract <T extends Number> Point2D<T> lookup(T x, T y, Supplier<Point2D<T>> creator);
+
+	public Stats stats() {
+		return new Stats(hits.sum(), misses.sum(), size.sum());
+	}
+
+	static final class Disabled extends Point2DInterner {
+
+		@Override
+		<T extends Number> Point2D<T> lookup(final T x, final T y, final Supplier<Point2D<T>> creator) {
+			misses.increment();
+			return creator.get();
+		}
+
+	}
+
+	static class Hashed extends Point2DInterner {
+
+		// nested by x and y, so that a lookup only needs the (already boxed) coordinates and a hit does not allocate
+		private final Map<Number, Map<Number, Point2D<?>>> table = new ConcurrentHashMap<>();
+
+		@Override
+		@SuppressWarnings("unchecked")
+		<T extends Number> Point2D<T> lookup(final T x, final T y, final Supplier<Point2D<T>> creator) {
+			final var column = table.get(x);
+			if (column != null) {
+				final var existing = column.get(y);
+				if (existing != null) {
+					hits.increment();
+					return (Point2D<T>) existing;
+				}
+			}
+			final var created = new boolean[1];
+			final var interned = table.computeIfAbsent(x, _ -> new ConcurrentHashMap<>())
+									  .computeIfAbsent(y, _ -> {
+										  created[0] = true;
+										  return creator.get();
+									  });
+			if (created[0]) {
+				misses.increment();
+				size.increment();
+			} else {
+				// lost the race against a concurrent creation
+				hits.increment();
+			}
+			return (Point2D<T>) interned;
+		}
+
+	}
+
+	static final class Dense extends Hashed {
+
+		private final int minX;
+		private final int minY;
+		private final int width;
+		private final int height;
+		private final AtomicReferenceArray<Point2D<Integer>> table;
+
+		Dense(final int minX, final int minY, final int maxX, final int maxY) {
+			if (maxX < minX || maxY < minY) {
+				throw new IllegalArgumentException("invalid bounding box");
+			}
+			this.minX = minX;
+			this.minY = minY;
+			this.width = maxX - minX + 1;
+			this.height = maxY - minY + 1;
+			this.table = new AtomicReferenceArray<>(Math.multiplyExact(width, height));
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		<T extends Number> Point2D<T> lookup(final T x, final T y, final Supplier<Point2D<T>> creator) {
+			if (!(x instanceof Integer ix) || !(y instanceof Integer iy)) {
+				return super.lookup(x, y, creator);
+			}
+			final var dx = ix - minX;
+			final var dy = iy - minY;
+			if (dx < 0 || dx >= width || dy < 0 || dy >= height) {
+				return super.lookup(x, y, creator);
+			}
+			final var index = dy * width + dx;
+			final var existing = table.get(index);
+			if (existing != null) {
+				hits.increment();
+				return (Point2D<T>) existing;
+			}
+			final var candidate = (Point2D<Integer>) creator.get();
+			final var witness = table.compareAndExchange(index, null, candidate);
+			if (witness != null) {
+				hits.increment();
+				return (Point2D<T>) witness;
+			}
+			misses.increment();
+			size.increment();
+			return (Point2D<T>) candidate;
+		}
+
+	}
+
+}
@@ -11,4 +11,12 @@ public class Utils {
 		return abs(b.getX().longValue() - a.getX().longValue()) + abs(b.getY().longValue() - a.getY().longValue());
 	}
 
+	@SuppressWarnings("SpellCheckingInspection")
+	public static long manhattenDistance(final long ax,
+										 final long ay,
+										 final long bx,
+										 final long by) {
+		return abs(bx - ax) + abs(by - ay);
+	}
+
 }
@@ -0,0 +1,544 @@
+package de.knallisworld.aoc2025.support.geo.grid2;
+
+import de.knallisworld.aoc2025.support.geo.PackedPoint2D;
+import de.knallisworld.aoc2025.support.geo.Point2D;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * Boolean grid (e.g. wall/open, on/off) packed into {@code long} words: 64 cells per word, each row starting at a new
+ * word. Neighbor counts, dilation/erosion and flood fills work on whole words with shifts and logic operations, so
+ * they process 64 cells at once.
+ * <p>
+ * Out-of-bounds cells are unset, bits beyond the width of a row are always zero.
+ */
+public class BitGrid {
+
+	private final long[] data;
+	private final int height;
+	private final int width;
+
+	/**
+	 * Words per row.
+	 */
+	private final int words;
+
+	/**
+	 * Valid bits of the last word of a row.
+	 */
+	private final long lastMask;
+
+	public BitGrid(final int initialHeight, final int initialWidth) {
+		this.height = initialHeight;
+		this.width = initialWidth;
+		this.words = Math.ceilDiv(initialWidth, Long.SIZE);
+		this.data = new long[initialHeight * words];
+		this.lastMask = initialWidth % Long.SIZE == 0 ? -1L : (1L << initialWidth) - 1;
+	}
+
+	public static BitGrid create(final int initialHeight, final int initialWidth) {
+		return new BitGrid(initialHeight, initialWidth);
+	}
+
+	public static BitGrid copy(final BitGrid from) {
+		final var clone = create(from.height, from.width);
+		System.arraycopy(from.data, 0, clone.data, 0, from.data.length);
+		return clone;
+	}
+
+	/**
+	 * @param symbol character of set cells, e.g. {@code '#'}
+	 */
+	public static BitGrid parse(final List<String> lines, final char symbol) {
+		return parseBySymbols2D(lines, c -> c == symbol);
+	}
+
+	public static BitGrid parseBySymbols2D(final List<String> lines, final IntPredicate decoder) {
+		final var grid = create(lines.size(), lines.getFirst().length());
+		for (int y = 0; y < lines.size(); y++) {
+			final var line = lines.get(y);
+			for (int x = 0; x < line.length(); x++) {
+				if (decoder.test(line.charAt(x))) {
+					grid.set(x, y);
+				}
+			}
+		}
+		return grid;
+	}
+
+	public static <T> BitGrid of(final FixGrid<T> from, final Predicate<? super T> filter) {
+		final var grid = create(from.getHeight(), from.getWidth());
+		from.fields().forEachCell((x, y, value) -> {
+			if (filter.test(value)) {
+				grid.set(x, y);
+			}
+		});
+		return grid;
+	}
+
+	public static BitGrid of(final CharGrid from, final char symbol) {
+		final var grid = create(from.getHeight(), from.getWidth());
+		from.fields().forEachCell((x, y, value) -> {
+			if (value == symbol) {
+				grid.set(x, y);
+			}
+		});
+		return grid;
+	}
+
+	public FixGrid<Boolean> toFixGrid() {
+		final var grid = FixGrid.create(Boolean.class, height, width);
+		for (var y = 0; y < height; y++) {
+			for (var x = 0; x < width; x++) {
+				grid.setValue(x, y, isSet(x, y));
+			}
+		}
+		return grid;
+	}
+
+	private int index(final int x, final int y) {
+		return Objects.checkIndex(y, height) * words + (Objects.checkIndex(x, width) >>> 6);
+	}
+
+	public boolean isSet(final Point2D<Integer> p) {
+		return isSet(p.getX(), p.getY());
+	}
+
+	/**
+	 * @return false if out of bounds
+	 */
+	public boolean isSet(final int x, final int y) {
+		if (x < 0 || x >= width || y < 0 || y >= height) {
+			return false;
+		}
+		return (data[y * words + (x >>> 6)] & (1L << x)) != 0;
+	}
+
+	/**
+	 * @param p packed coordinate, see {@link PackedPoint2D}
+	 */
+	public boolean isSet(final long p) {
+		return isSet(PackedPoint2D.x(p), PackedPoint2D.y(p));
+	}
+
+	public void setValue(final Point2D<Integer> p, final boolean value) {
+		setValue(p.getX(), p.getY(), value);
+	}
+
+	public void setValue(final int x, final int y, final boolean value) {
+		if (value) {
+			set(x, y);
+		} else {
+			clear(x, y);
+		}
+	}
+
+	/**
+	 * @param p packed coordinate, see {@link PackedPoint2D}
+	 */
+	public void setValue(final long p, final boolean value) {
+		setValue(PackedPoint2D.x(p), PackedPoint2D.y(p), value);
+	}
+
+	public void set(final int x, final int y) {
+		data[index(x, y)] |= 1L << x;
+	}
+
+	public void clear(final int x, final int y) {
+		data[index(x, y)] &= ~(1L << x);
+	}
+
+	public void flip(final int x, final int y) {
+		data[index(x, y)] ^= 1L << x;
+	}
+
+	public void fill(final boolean value) {
+		if (!value) {
+			Arrays.fill(data, 0L);
+			return;
+		}
+		Arrays.fill(data, -1L);
+		maskRows(data);
+	}
+
+	/**
+	 * Number of set cells (popcount).
+	 */
+	public long count() {
+		var count = 0L;
+		for (final var word : data) {
+			count += Long.bitCount(word);
+		}
+		return count;
+	}
+
+	public boolean isEmpty() {
+		for (final var word : data) {
+			if (word != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Visits all set cells row by row, skipping empty words entirely.
+	 */
+	public void forEachSet(final CellConsumer consumer) {
+		for (var y = 0; y < height; y++) {
+			for (var w = 0; w < words; w++) {
+				var word = data[y * words + w];
+				while (word != 0) {
+					consumer.accept((w << 6) + Long.numberOfTrailingZeros(word), y);
+					word &= word - 1;
+				}
+			}
+		}
+	}
+
+	@FunctionalInterface
+	public interface CellConsumer {
+
+		void accept(int x, int y);
+
+	}
+
+	// logic operations, in place; the other grid must have the same dimensions
+
+	public BitGrid and(final BitGrid other) {
+		checkDimension(other);
+		for (var i = 0; i < data.length; i++) {
+			data[i] &= other.data[i];
+		}
+		return this;
+	}
+
+	public BitGrid or(final BitGrid other) {
+		checkDimension(other);
+		for (var i = 0; i < data.length; i++) {
+			data[i] |= other.data[i];
+		}
+		return this;
+	}
+
+	public BitGrid xor(final BitGrid other) {
+		checkDimension(other);
+		for (var i = 0; i < data.length; i++) {
+			data[i] ^= other.data[i];
+		}
+		return this;
+	}
+
+	public BitGrid andNot(final BitGrid other) {
+		checkDimension(other);
+		for (var i = 0; i < data.length; i++) {
+			data[i] &= ~other.data[i];
+		}
+		return this;
+	}
+
+	public BitGrid not() {
+		for (var i = 0; i < data.length; i++) {
+			data[i] = ~data[i];
+		}
+		maskRows(data);
+		return this;
+	}
+
+	private void checkDimension(final BitGrid other) {
+		if (other.width != width || other.height != height) {
+			throw new IllegalArgumentException("grid dimension does not match");
+		}
+	}
+
+	private void maskRows(final long[] rows) {
+		if (words == 0) {
+			// zero width, no words at all
+			return;
+		}
+		for (var i = words - 1; i < rows.length; i += words) {
+			rows[i] &= lastMask;
+		}
+	}
+
+	/**
+	 * @return the word, 0 if out of bounds
+	 */
+	private long word(final int y, final int w) {
+		if (y < 0 || y >= height || w < 0 || w >= words) {
+			return 0L;
+		}
+		return data[y * words + w];
+	}
+
+	/**
+	 * @return the word with each bit x holding the cell x - 1 (the west neighbor)
+	 */
+	private long west(final int y, final int w) {
+		return word(y, w) << 1 | word(y, w - 1) >>> 63;
+	}
+
+	/**
+	 * @return the word with each bit x holding the cell x + 1 (the east neighbor)
+	 */
+	private long east(final int y, final int w) {
+		return word(y, w) >>> 1 | word(y, w + 1) << 63;
+	}
+
+	/**
+	 * Moves all cells by the given offset in place; cells moved out are dropped, cells moved in are unset.
+	 */
+	public BitGrid shift(final int dx, final int dy) {
+		final var shifted = new long[data.length];
+		final var wordShift = Math.abs(dx) >>> 6;
+		final var bitShift = Math.abs(dx) & 63;
+		for (var y = Math.max(dy, 0); y < Math.min(height + dy, height); y++) {
+			final var source = y - dy;
+			for (var w = 0; w < words; w++) {
+				final long value;
+				if (dx >= 0) {
+					final var from = w - wordShift;
+					value = bitShift == 0
+							? word(source, from)
+							: word(source, from) << bitShift | word(source, from - 1) >>> (64 - bitShift);
+				} else {
+					final var from = w + wordShift;
+					value = bitShift == 0
+							? word(source, from)
+							: word(source, from) >>> bitShift | word(source, from + 1) << (64 - bitShift);
+				}
+				shifted[y * words + w] = value;
+			}
+		}
+		maskRows(shifted);
+		System.arraycopy(shifted, 0, data, 0, data.length);
+		return this;
+	}
+
+	/**
+	 * Sets every cell with a set 4-adjacent cell, in place.
+	 */
+	public BitGrid dilate4() {
+		System.arraycopy(dilated(false), 0, data, 0, data.length);
+		return this;
+	}
+
+	/**
+	 * Sets every cell with a set 8-adjacent cell (including diagonals), in place.
+	 */
+	public BitGrid dilate8() {
+		System.arraycopy(dilated(true), 0, data, 0, data.length);
+		return this;
+	}
+
+	/**
+	 * Clears every cell with an unset (or out-of-bounds) 4-adjacent cell, in place.
+	 */
+	public BitGrid erode4() {
+		System.arraycopy(eroded(false), 0, data, 0, data.length);
+		return this;
+	}
+
+	/**
+	 * Clears every cell with an unset (or out-of-bounds) 8-adjacent cell (including diagonals), in place.
+	 */
+	public BitGrid erode8() {
+		System.arraycopy(eroded(true), 0, data, 0, data.length);
+		return this;
+	}
+
+	private long[] dilated(final boolean diagonals) {
+		final var result = new long[data.length];
+		for (var y = 0; y < height; y++) {
+			for (var w = 0; w < words; w++) {
+				var value = word(y, w) | west(y, w) | east(y, w) | word(y - 1, w) | word(y + 1, w);
+				if (diagonals) {
+					value |= west(y - 1, w) | east(y - 1, w) | west(y + 1, w) | east(y + 1, w);
+				}
+				result[y * words + w] = value;
+			}
+		}
+		maskRows(result);
+		return result;
+	}
+
+	private long[] eroded(final boolean diagonals) {
+		final var result = new long[data.length];
+		for (var y = 0; y < height; y++) {
+			for (var w = 0; w < words; w++) {
+				var value = word(y, w) & west(y, w) & east(y, w) & word(y - 1, w) & word(y + 1, w);
+				if (diagonals) {
+					value &= west(y - 1, w) & east(y - 1, w) & west(y + 1, w) & east(y + 1, w);
+				}
+				result[y * words + w] = value;
+			}
+		}
+		maskRows(result);
+		return result;
+	}
+
+	/**
+	 * All set cells 4-connected to the given start cell (flood fill), computed by repeatedly dilating the
+	 * reached cells masked by this grid. Each round costs O(words), the number of rounds is the longest path.
+	 *
+	 * @return empty if the start cell is not set
+	 */
+	public BitGrid reachable4(final int x, final int y) {
+		return reachable(x, y, false);
+	}
+
+	/**
+	 * Like {@link #reachable4(int, int)}, but 8-connected (including diagonals).
+	 */
+	public BitGrid reachable8(final int x, final int y) {
+		return reachable(x, y, true);
+	}
+
+	private BitGrid reachable(final int x, final int y, final boolean diagonals) {
+		final var reached = create(height, width);
+		if (!isSet(x, y)) {
+			return reached;
+		}
+		reached.set(x, y);
+		while (true) {
+			final var next = reached.dilated(diagonals);
+			for (var i = 0; i < next.length; i++) {
+				next[i] &= data[i];
+			}
+			if (Arrays.equals(next, reached.data)) {
+				return reached;
+			}
+			System.arraycopy(next, 0, reached.data, 0, next.length);
+		}
+	}
+
+	/**
+	 * Cells whose number of set 4-adjacent cells is accepted by the given predicate, regardless of their own state.
+	 */
+	public BitGrid neighbors4(final IntPredicate count) {
+		final var accepted = accepted(count, 4);
+		final var result = create(height, width);
+		final var inputs = new long[4];
+		for (var y = 0; y < height; y++) {
+			for (var w = 0; w < words; w++) {
+				inputs[0] = word(y - 1, w);
+				inputs[1] = east(y, w);
+				inputs[2] = word(y + 1, w);
+				inputs[3] = west(y, w);
+				result.data[y * words + w] = countMatching(inputs, accepted);
+			}
+		}
+		maskRows(result.data);
+		return result;
+	}
+
+	/**
+	 * Cells whose number of set 8-adjacent cells (including diagonals) is accepted by the given predicate,
+	 * regardless of their own state. E.g. Game of Life:
+	 * {@code grid.neighbors8(n -> n == 3).or(copy(grid).and(grid.neighbors8(n -> n == 2)))}
+	 */
+	public BitGrid neighbors8(final IntPredicate count) {
+		final var accepted = accepted(count, 8);
+		final var result = create(height, width);
+		final var inputs = new long[8];
+		for (var y = 0; y < height; y++) {
+			for (var w = 0; w < words; w++) {
+				inputs[0] = west(y - 1, w);
+				inputs[1] = word(y - 1, w);
+				inputs[2] = east(y - 1, w);
+				inputs[3] = east(y, w);
+				inputs[4] = east(y + 1, w);
+				inputs[5] = word(y + 1, w);
+				inputs[6] = west(y + 1, w);
+				inputs[7] = west(y, w);
+				result.data[y * words + w] = countMatching(inputs, accepted);
+			}
+		}
+		maskRows(result.data);
+		return result;
+	}
+
+	private static boolean[] accepted(final IntPredicate count, final int max) {
+		final var accepted = new boolean[max + 1];
+		for (var n = 0; n <= max; n++) {
+			accepted[n] = count.test(n);
+		}
+		return accepted;
+	}
+
+	/**
+	 * Bit-sliced counting: adds the inputs into 4 bit planes (a ripple carry adder per bit position), so the count
+	 * of all 64 positions is computed at once. Then selects the positions with an accepted count.
+	 */
+	private static long countMatching(final long[] inputs, final boolean[] accepted) {
+		var s0 = 0L;
+		var s1 = 0L;
+		var s2 = 0L;
+		var s3 = 0L;
+		for (final var input : inputs) {
+			final var c0 = s0 & input;
+			s0 ^= input;
+			final var c1 = s1 & c0;
+			s1 ^= c0;
+			final var c2 = s2 & c1;
+			s2 ^= c1;
+			s3 |= c2;
+		}
+		var result = 0L;
+		for (var n = 0; n < accepted.length; n++) {
+			if (accepted[n]) {
+				result |= ((n & 1) != 0 ? s0 : ~s0)
+						  & ((n & 2) != 0 ? s1 : ~s1)
+						  & ((n & 4) != 0 ? s2 : ~s2)
+						  & ((n & 8) != 0 ? s3 : ~s3);
+			}
+		}
+		return result;
+	}
+
+	public int getHeight() {
+		return height;
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	public int size() {
+		return height * width;
+	}
+
+	public String toString(final char set, final char unset) {
+		final var sb = new StringBuilder(height * (width + 1));
+		for (var y = 0; y < height; y++) {
+			for (var x = 0; x < width; x++) {
+				sb.append(isSet(x, y) ? set : unset);
+			}
+			sb.append("\n");
+		}
+		return sb.toString();
+	}
+
+	@Override
+	public String toString() {
+		return toString('#', '.');
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+		BitGrid bitGrid = (BitGrid) o;
+		return width == bitGrid.width && Arrays.equals(data, bitGrid.data);
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * width + Arrays.hashCode(data);
+	}
+
+}
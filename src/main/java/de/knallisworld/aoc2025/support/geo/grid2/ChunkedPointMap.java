@@ -0,0 +1,360 @@
+package de.knallisworld.aoc2025.support.geo.grid2;
+
+import de.knallisworld.aoc2025.support.geo.Point2D;
+import org.jspecify.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Dense map of integer points, stored in 64x64 chunks which are allocated on demand.
+ * The chunk directory grows automatically into any direction.
+ * <p>
+ * Used by {@link DynGrid} once a grid turns out to be mostly filled.
+ * <p>
+ * Copies share their chunks (copy-on-write): a chunk is only copied on the first write into it.
+ */
+final class ChunkedPointMap<T> extends AbstractMap<Point2D<Integer>, T> {
+
+	static final int CHUNK_BITS = 6;
+	static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+	private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+	/**
+	 * Marker for stored null values, a null cell means absent.
+	 */
+	private static final Object NULL = new Object();
+
+	private int chunkMinX;
+	private int chunkMinY;
+	private int chunksWidth;
+	private int chunksHeight;
+	private @Nullable Object[][] chunks = new Object[0][];
+	private int[] chunkCounts = new int[0];
+	private boolean[] chunkShared = new boolean[0];
+	private int size;
+
+	static <T> ChunkedPointMap<T> copyOf(final Map<Point2D<Integer>, T> from) {
+		final var map = new ChunkedPointMap<T>();
+		if (from instanceof ChunkedPointMap<T> chunked) {
+			map.chunkMinX = chunked.chunkMinX;
+			map.chunkMinY = chunked.chunkMinY;
+			map.chunksWidth = chunked.chunksWidth;
+			map.chunksHeight = chunked.chunksHeight;
+			// only the directory is copied, the chunks are shared by both maps from now on
+			map.chunks = chunked.chunks.clone();
+			map.chunkCounts = chunked.chunkCounts.clone();
+			Arrays.fill(chunked.chunkShared, true);
+			map.chunkShared = chunked.chunkShared.clone();
+			map.size = chunked.size;
+		} else {
+			from.forEach(map::put);
+		}
+		return map;
+	}
+
+	private int chunkIndex(final int x, final int y) {
+		final var cx = (x >> CHUNK_BITS) - chunkMinX;
+		final var cy = (y >> CHUNK_BITS) - chunkMinY;
+		if (cx < 0 || cx >= chunksWidth || cy < 0 || cy >= chunksHeight) {
+			return -1;
+		}
+		return cy * chunksWidth + cx;
+	}
+
+	private static int cellIndex(final int x, final int y) {
+		return ((y & CHUNK_MASK) << CHUNK_BITS) | (x & CHUNK_MASK);
+	}
+
+	private @Nullable Object getRaw(final int x, final int y) {
+		final var ci = chunkIndex(x, y);
+		if (ci < 0) {
+			return null;
+		}
+		final var chunk = chunks[ci];
+		if (chunk == null) {
+			return null;
+		}
+		return chunk[cellIndex(x, y)];
+	}
+
+	boolean contains(final int x, final int y) {
+		return getRaw(x, y) != null;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Nullable T getAt(final int x, final int y) {
+		final var raw = getRaw(x, y);
+		return raw == NULL ? null : (T) raw;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Nullable T putAt(final int x, final int y, final @Nullable T value) {
+		var ci = chunkIndex(x, y);
+		if (ci < 0) {
+			grow(x >> CHUNK_BITS, y >> CHUNK_BITS);
+			ci = chunkIndex(x, y);
+		}
+		var chunk = chunks[ci];
+		if (chunk == null) {
+			chunk = new Object[CHUNK_SIZE * CHUNK_SIZE];
+			chunks[ci] = chunk;
+			chunkShared[ci] = false;
+		} else if (chunkShared[ci]) {
+			chunk = ownChunk(ci);
+		}
+		final var cell = cellIndex(x, y);
+		final var previous = chunk[cell];
+		chunk[cell] = value == null ? NULL : value;
+		if (previous == null) {
+			chunkCounts[ci]++;
+			size++;
+			return null;
+		}
+		return previous == NULL ? null : (T) previous;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Nullable T removeAt(final int x, final int y) {
+		final var ci = chunkIndex(x, y);
+		if (ci < 0 || chunks[ci] == null) {
+			return null;
+		}
+		final var cell = cellIndex(x, y);
+		final var previous = chunks[ci][cell];
+		if (previous == null) {
+			return null;
+		}
+		size--;
+		if (--chunkCounts[ci] == 0) {
+			// release empty chunks
+			chunks[ci] = null;
+			chunkShared[ci] = false;
+		} else {
+			ownChunk(ci)[cell] = null;
+		}
+		return previous == NULL ? null : (T) previous;
+	}
+
+	/**
+	 * Visits only the keys of the outermost occupied chunks (first and last occupied chunk column and row), which
+	 * contain all extreme keys; bounds without iterating all entries.
+	 */
+	void forEachBoundaryKey(final Consumer<Point2D<Integer>> consumer) {
+		var minCx = Integer.MAX_VALUE;
+		var maxCx = -1;
+		var minCy = Integer.MAX_VALUE;
+		var maxCy = -1;
+		for (var ci = 0; ci < chunks.length; ci++) {
+			if (chunks[ci] != null) {
+				minCx = Math.min(minCx, ci % chunksWidth);
+				maxCx = Math.max(maxCx, ci % chunksWidth);
+				minCy = Math.min(minCy, ci / chunksWidth);
+				maxCy = Math.max(maxCy, ci / chunksWidth);
+			}
+		}
+		for (var ci = 0; ci < chunks.length; ci++) {
+			final var chunk = chunks[ci];
+			final var cx = ci % chunksWidth;
+			final var cy = ci / chunksWidth;
+			if (chunk == null || (cx != minCx && cx != maxCx && cy != minCy && cy != maxCy)) {
+				continue;
+			}
+			for (var cell = 0; cell < chunk.length; cell++) {
+				if (chunk[cell] != null) {
+					consumer.accept(Point2D.create(
+							((chunkMinX + cx) << CHUNK_BITS) + (cell & CHUNK_MASK),
+							((chunkMinY + cy) << CHUNK_BITS) + (cell >> CHUNK_BITS)
+					));
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return the chunk for writing, copied first if it is still shared
+	 */
+	private @Nullable Object[] ownChunk(final int ci) {
+		final var chunk = requireNonNull(chunks[ci]);
+		if (!chunkShared[ci]) {
+			return chunk;
+		}
+		final var copy = chunk.clone();
+		chunks[ci] = copy;
+		chunkShared[ci] = false;
+		return copy;
+	}
+
+	/**
+	 * Grows the chunk directory (at least doubling into the required direction) to contain the given chunk.
+	 */
+	private void grow(final int cx, final int cy) {
+		if (chunksWidth == 0) {
+			chunkMinX = cx;
+			chunkMinY = cy;
+			chunksWidth = 1;
+			chunksHeight = 1;
+			chunks = new Object[1][];
+			chunkCounts = new int[1];
+			chunkShared = new boolean[1];
+			return;
+		}
+		var minX = chunkMinX;
+		var maxX = chunkMinX + chunksWidth - 1;
+		var minY = chunkMinY;
+		var maxY = chunkMinY + chunksHeight - 1;
+		if (cx < minX) {
+			minX = Math.min(cx, minX - chunksWidth);
+		} else if (cx > maxX) {
+			maxX = Math.max(cx, maxX + chunksWidth);
+		}
+		if (cy < minY) {
+			minY = Math.min(cy, minY - chunksHeight);
+		} else if (cy > maxY) {
+			maxY = Math.max(cy, maxY + chunksHeight);
+		}
+		final var width = maxX - minX + 1;
+		final var height = maxY - minY + 1;
+		final var newChunks = new Object[width * height][];
+		final var newCounts = new int[width * height];
+		final var newShared = new boolean[width * height];
+		for (var y = 0; y < chunksHeight; y++) {
+			final var dst = (y + chunkMinY - minY) * width + (chunkMinX - minX);
+			System.arraycopy(chunks, y * chunksWidth, newChunks, dst, chunksWidth);
+			System.arraycopy(chunkCounts, y * chunksWidth, newCounts, dst, chunksWidth);
+			System.arraycopy(chunkShared, y * chunksWidth, newShared, dst, chunksWidth);
+		}
+		chunkMinX = minX;
+		chunkMinY = minY;
+		chunksWidth = width;
+		chunksHeight = height;
+		chunks = newChunks;
+		chunkCounts = newCounts;
+		chunkShared = newShared;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean containsKey(final Object key) {
+		return key instanceof Point2D<?> p
+			   && p.getX() instanceof Integer x
+			   && p.getY() instanceof Integer y
+			   && contains(x, y);
+	}
+
+	@Override
+	public @Nullable T get(final Object key) {
+		if (key instanceof Point2D<?> p && p.getX() instanceof Integer x && p.getY() instanceof Integer y) {
+			return getAt(x, y);
+		}
+		return null;
+	}
+
+	@Override
+	public @Nullable T put(final Point2D<Integer> key, final @Nullable T value) {
+		return putAt(key.getX(), key.getY(), value);
+	}
+
+	@Override
+	public @Nullable T remove(final Object key) {
+		if (key instanceof Point2D<?> p && p.getX() instanceof Integer x && p.getY() instanceof Integer y) {
+			return removeAt(x, y);
+		}
+		return null;
+	}
+
+	@Override
+	public void clear() {
+		chunkMinX = 0;
+		chunkMinY = 0;
+		chunksWidth = 0;
+		chunksHeight = 0;
+		chunks = new Object[0][];
+		chunkCounts = new int[0];
+		chunkShared = new boolean[0];
+		size = 0;
+	}
+
+	@Override
+	public Set<Entry<Point2D<Integer>, T>> entrySet() {
+		return new AbstractSet<>() {
+
+			@Override
+			public Iterator<Entry<Point2D<Integer>, T>> iterator() {
+				return new EntryIterator();
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+
+		};
+	}
+
+	private final class EntryIterator implements Iterator<Entry<Point2D<Integer>, T>> {
+
+		private int chunk = 0;
+		private int cell = -1;
+		private @Nullable Point2D<Integer> last;
+
+		private EntryIterator() {
+			advance();
+		}
+
+		private void advance() {
+			cell++;
+			while (chunk < chunks.length) {
+				final var current = chunks[chunk];
+				if (current != null) {
+					while (cell < current.length) {
+						if (current[cell] != null) {
+							return;
+						}
+						cell++;
+					}
+				}
+				chunk++;
+				cell = 0;
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return chunk < chunks.length;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public Entry<Point2D<Integer>, T> next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			final var x = ((chunkMinX + chunk % chunksWidth) << CHUNK_BITS) + (cell & CHUNK_MASK);
+			final var y = ((chunkMinY + chunk / chunksWidth) << CHUNK_BITS) + (cell >> CHUNK_BITS);
+			final var raw = chunks[chunk][cell];
+			final var point = Point2D.create(x, y);
+			last = point;
+			advance();
+			return new SimpleImmutableEntry<>(point, raw == NULL ? null : (T) raw);
+		}
+
+		@Override
+		public void remove() {
+			if (last == null) {
+				throw new IllegalStateException();
+			}
+			// removal never moves other cells; the chunk of the cursor still has an entry, so it stays
+			removeAt(last.getX(), last.getY());
+			last = null;
+		}
+
+	}
+
+}
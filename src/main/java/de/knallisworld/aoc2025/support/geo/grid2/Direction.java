@@ -1,5 +1,6 @@
 package de.knallisworld.aoc2025.support.geo.grid2;
 
+import de.knallisworld.aoc2025.support.geo.PackedPoint2D;
 import de.knallisworld.aoc2025.support.geo.Point2D;
 
 public enum Direction {
@@ -10,15 +11,38 @@ public enum Direction {
 	West(Point2D.create(-1, 0));
 
 	private final Point2D<Integer> offset;
+	private final int dx;
+	private final int dy;
 
 	Direction(Point2D<Integer> offset) {
 		this.offset = offset;
+		this.dx = offset.getX();
+		this.dy = offset.getY();
 	}
 
 	public Point2D<Integer> offset() {
 		return offset;
 	}
 
+	public int dx() {
+		return dx;
+	}
+
+	public int dy() {
+		return dy;
+	}
+
+	/**
+	 * Moves a packed coordinate (see {@link PackedPoint2D}) one step into this direction.
+	 */
+	public long move(final long p) {
+		return PackedPoint2D.add(p, dx, dy);
+	}
+
+	public long move(final long p, final int amount) {
+		return PackedPoint2D.add(p, dx * amount, dy * amount);
+	}
+
 	public Direction left() {
 		return switch (this) {
 			case North -> West;
@@ -1,6 +1,8 @@
 package de.knallisworld.aoc2025.support.geo.grid2;
 
+import de.knallisworld.aoc2025.support.geo.PackedPoint2D;
 import de.knallisworld.aoc2025.support.geo.Point2D;
+import org.jspecify.annotations.Nullable;
 
 import java.util.*;
 import java.util.function.BiFunction;
@@ -9,19 +11,47 @@ import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
-import static java.util.Comparator.comparing;
+import static java.util.Comparator.comparingLong;
 import static java.util.Objects.requireNonNull;
 import static java.util.function.Predicate.not;
 
 public class DynGrid<P extends Number, T> {
 
-	final Map<Point2D<P>, T> data;
+	/**
+	 * Minimum number of fields before a dense representation is considered.
+	 */
+	static final int DENSE_MIN_SIZE = 1 << 12;
 
-	final Set<P> validX;
-	final Set<P> validY;
+	/**
+	 * Occupancy of the bounding box from which on the dense representation is used.
+	 */
+	static final double DENSE_OCCUPANCY = 0.5;
+
+	/**
+	 * Occupancy of the bounding box below which the dense representation is dropped again.
+	 */
+	static final double SPARSE_OCCUPANCY = 0.125;
+
+	Map<Point2D<P>, T> data;
+
+	/**
+	 * Whether this grid owns its data and is allowed to switch the representation, see {@link ChunkedPointMap}.
+	 */
+	private final boolean adaptive;
+
+	// occupancy indexes: y -> occupied x values, x -> occupied y values; only built by the row and column lookups
+	private @Nullable Map<P, Set<P>> rowIndex;
+	private @Nullable Map<P, Set<P>> columnIndex;
+
+	// incrementally tracked bounds, only recomputed lazily after an extreme has been removed
+	private @Nullable Point2D<P> minXPoint;
+	private @Nullable Point2D<P> maxXPoint;
+	private @Nullable Point2D<P> minYPoint;
+	private @Nullable Point2D<P> maxYPoint;
+	private boolean boundsDirty = true;
 
 	public static <P extends Number, T> DynGrid<P, T> empty() {
-		return new DynGrid<>(new HashMap<>());
+		return new DynGrid<>(new HashMap<>(), true);
 	}
 
 	public static <P extends Number, T> DynGrid<P, T> of(final Map<Point2D<P>, T> data) {
@@ -29,56 +59,135 @@ public class DynGrid<P extends Number, T> {
 	}
 
 	public static <P extends Number, T> DynGrid<P, T> copyOf(final Map<Point2D<P>, T> data) {
-		return new DynGrid<>(new HashMap<>(data));
+		return new DynGrid<>(new HashMap<>(data), true);
 	}
 
 	public DynGrid(final Map<Point2D<P>, T> data) {
+		this(data, false);
+	}
+
+	DynGrid(final Map<Point2D<P>, T> data, final boolean adaptive) {
 		this.data = data;
-		this.validX = new HashSet<>();
-		this.validY = new HashSet<>();
-		data.keySet()
-			.forEach(p0 -> {
-				validX.add(p0.getX());
-				validY.add(p0.getX());
-			});
+		this.adaptive = adaptive;
+		adaptRepresentation();
 	}
 
-	public boolean has(final Point2D<P> p) {
-		if (!validX.contains(p.getX())) {
-			return false;
+	/**
+	 * Copy sharing the data structurally, see {@link #clone()}. The bounds are taken over, the indexes are rebuilt
+	 * on demand only.
+	 */
+	private DynGrid(final DynGrid<P, T> from, final Map<Point2D<P>, T> data) {
+		from.ensureBounds();
+		this.data = data;
+		this.adaptive = true;
+		this.minXPoint = from.minXPoint;
+		this.maxXPoint = from.maxXPoint;
+		this.minYPoint = from.minYPoint;
+		this.maxYPoint = from.maxYPoint;
+		this.boundsDirty = false;
+	}
+
+	Map<P, Set<P>> rowIndex() {
+		buildIndexes();
+		return requireNonNull(rowIndex);
+	}
+
+	Map<P, Set<P>> columnIndex() {
+		buildIndexes();
+		return requireNonNull(columnIndex);
+	}
+
+	private void buildIndexes() {
+		if (rowIndex != null) {
+			return;
+		}
+		rowIndex = new HashMap<>();
+		columnIndex = new HashMap<>();
+		data.keySet().forEach(this::index);
+	}
+
+	private void index(final Point2D<P> p) {
+		if (rowIndex == null || columnIndex == null) {
+			return;
+		}
+		rowIndex.computeIfAbsent(p.getY(), _ -> new HashSet<>()).add(p.getX());
+		columnIndex.computeIfAbsent(p.getX(), _ -> new HashSet<>()).add(p.getY());
+	}
+
+	private void unindex(final Point2D<P> p) {
+		if (rowIndex == null || columnIndex == null) {
+			return;
+		}
+		final var row = rowIndex.get(p.getY());
+		if (row != null && row.remove(p.getX()) && row.isEmpty()) {
+			rowIndex.remove(p.getY());
 		}
-		if (!validY.contains(p.getY())) {
-			return false;
+		final var column = columnIndex.get(p.getX());
+		if (column != null && column.remove(p.getY()) && column.isEmpty()) {
+			columnIndex.remove(p.getX());
 		}
+	}
+
+	public boolean has(final Point2D<P> p) {
 		return data.containsKey(p);
 	}
 
 	public boolean has(final P x, final P y) {
-		if (!validX.contains(x)) {
-			return false;
+		if (rowIndex == null) {
+			return has(Point2D.create(x, y));
 		}
-		if (!validY.contains(y)) {
-			return false;
+		// answered by the row index, without resolving a point at all
+		final var row = rowIndex.get(y);
+		return row != null && row.contains(x);
+	}
+
+	/**
+	 * Only applicable for integer based grids.
+	 *
+	 * @param p packed coordinate, see {@link PackedPoint2D}
+	 */
+	public boolean has(final long p) {
+		if ((Map<?, ?>) data instanceof ChunkedPointMap<?> chunked) {
+			return chunked.contains(PackedPoint2D.x(p), PackedPoint2D.y(p));
 		}
-		return has(Point2D.create(x, y));
+		return has(packed(p));
 	}
 
 	public void setValue(final Point2D<P> p,
 						 final T value) {
+		final var added = !data.containsKey(p);
 		data.put(p, value);
-		validX.add(p.getX());
-		validY.add(p.getY());
+		if (added) {
+			index(p);
+			extendBounds(p);
+			if (Integer.bitCount(data.size()) == 1) {
+				// amortized: only checked whenever the size reaches a power of two
+				adaptRepresentation();
+			}
+		}
+	}
+
+	/**
+	 * Only applicable for integer based grids.
+	 *
+	 * @param p packed coordinate, see {@link PackedPoint2D}
+	 */
+	public void setValue(final long p,
+						 final T value) {
+		setValue(packed(p), value);
 	}
 
 	public void clearValue(final Point2D<P> p) {
+		if (!data.containsKey(p)) {
+			return;
+		}
 		data.remove(p);
-		validX.clear();
-		validY.clear();
-		data.keySet()
-			.forEach(p0 -> {
-				validX.add(p0.getX());
-				validY.add(p0.getX());
-			});
+		unindex(p);
+		shrinkBounds(p);
+		if (Integer.bitCount(data.size()) == 1) {
+			// amortized: only checked whenever the size reaches a power of two
+			adaptRepresentation();
+		}
 	}
 
 	public T getValueRequired(final Point2D<P> p) {
@@ -88,6 +197,24 @@ public class DynGrid<P extends Number, T> {
 		return requireNonNull(data.get(p));
 	}
 
+	/**
+	 * Only applicable for integer based grids.
+	 *
+	 * @param p packed coordinate, see {@link PackedPoint2D}
+	 */
+	@SuppressWarnings("unchecked")
+	public T getValueRequired(final long p) {
+		if ((Map<?, ?>) data instanceof ChunkedPointMap<?> chunked) {
+			final var x = PackedPoint2D.x(p);
+			final var y = PackedPoint2D.y(p);
+			if (!chunked.contains(x, y)) {
+				throw new NullPointerException();
+			}
+			return requireNonNull((T) chunked.getAt(x, y));
+		}
+		return getValueRequired(packed(p));
+	}
+
 	public Optional<T> getValue(final Point2D<P> p) {
 		if (!has(p)) {
 			return Optional.empty();
@@ -102,6 +229,24 @@ public class DynGrid<P extends Number, T> {
 		return getValue(Point2D.create(x, y));
 	}
 
+	/**
+	 * Only applicable for integer based grids.
+	 *
+	 * @param p packed coordinate, see {@link PackedPoint2D}
+	 */
+	@SuppressWarnings("unchecked")
+	public Optional<T> getValue(final long p) {
+		if ((Map<?, ?>) data instanceof ChunkedPointMap<?> chunked) {
+			return Optional.ofNullable((T) chunked.getAt(PackedPoint2D.x(p), PackedPoint2D.y(p)));
+		}
+		return getValue(packed(p));
+	}
+
+	@SuppressWarnings("unchecked")
+	private Point2D<P> packed(final long p) {
+		return (Point2D<P>) PackedPoint2D.toPoint2D(p);
+	}
+
 	public Stream<Point2D<P>> getAdjacents4(final Point2D<P> p) {
 		return getAdjacents4(p, false);
 	}
@@ -131,9 +276,27 @@ public class DynGrid<P extends Number, T> {
 				   .count();
 	}
 
-	@SuppressWarnings("MethodDoesntCallSuperMethod")
+	/**
+	 * Copy sharing the data structurally with this grid (copy-on-write), so cloning is cheap and a later write only
+	 * copies the touched part: a 64x64 chunk of the dense representation, or a trie path of the sparse one (see
+	 * {@link PersistentHashMap}, the first clone of a hash based grid converts it once).
+	 */
+	@SuppressWarnings({"MethodDoesntCallSuperMethod", "unchecked"})
 	public DynGrid<P, T> clone() {
-		return DynGrid.copyOf(data);
+		if ((Map<?, ?>) data instanceof ChunkedPointMap<?> chunked) {
+			final var copy = ChunkedPointMap.copyOf((ChunkedPointMap<T>) chunked);
+			return new DynGrid<>(this, (Map<Point2D<P>, T>) (Map<?, ?>) copy);
+		}
+		if (data instanceof PersistentHashMap<Point2D<P>, T> persistent) {
+			return new DynGrid<>(this, persistent.copy());
+		}
+		if (!adaptive) {
+			// foreign data must not be replaced
+			return new DynGrid<>(this, new PersistentHashMap<>(data));
+		}
+		final var persistent = new PersistentHashMap<>(data);
+		data = persistent;
+		return new DynGrid<>(this, persistent.copy());
 	}
 
 	public String toString(final BiFunction<Point2D<P>, T, String> renderer) {
@@ -177,32 +340,98 @@ public class DynGrid<P extends Number, T> {
 		return sb.toString();
 	}
 
+	private void extendBounds(final Point2D<P> p) {
+		if (boundsDirty) {
+			return;
+		}
+		final var x = p.getX().longValue();
+		final var y = p.getY().longValue();
+		if (minXPoint == null || x < minXPoint.getX().longValue()) {
+			minXPoint = p;
+		}
+		if (maxXPoint == null || x > maxXPoint.getX().longValue()) {
+			maxXPoint = p;
+		}
+		if (minYPoint == null || y < minYPoint.getY().longValue()) {
+			minYPoint = p;
+		}
+		if (maxYPoint == null || y > maxYPoint.getY().longValue()) {
+			maxYPoint = p;
+		}
+	}
+
+	private void shrinkBounds(final Point2D<P> p) {
+		if (boundsDirty) {
+			return;
+		}
+		// only removing an extreme invalidates the bounds
+		if (p.equals(minXPoint) || p.equals(maxXPoint) || p.equals(minYPoint) || p.equals(maxYPoint)) {
+			boundsDirty = true;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void ensureBounds() {
+		if (!boundsDirty) {
+			return;
+		}
+		minXPoint = null;
+		maxXPoint = null;
+		minYPoint = null;
+		maxYPoint = null;
+		boundsDirty = false;
+		// a single pass without building the occupancy indexes; the dense representation only scans its outer chunks
+		if ((Map<?, ?>) data instanceof ChunkedPointMap<?> chunked) {
+			chunked.forEachBoundaryKey(p -> extendBounds((Point2D<P>) (Point2D<?>) p));
+		} else {
+			data.keySet().forEach(this::extendBounds);
+		}
+	}
+
 	private Point2D<P> getMinY() {
-		return data.keySet()
-				   .stream()
-				   .min(comparing(p -> p.getY().longValue()))
-				   .orElseThrow();
+		ensureBounds();
+		return Optional.ofNullable(minYPoint).orElseThrow();
 	}
 
 	private Point2D<P> getMaxY() {
-		return data.keySet()
-				   .stream()
-				   .max(comparing(p -> p.getY().longValue()))
-				   .orElseThrow();
+		ensureBounds();
+		return Optional.ofNullable(maxYPoint).orElseThrow();
 	}
 
 	private Point2D<P> getMaxX() {
-		return data.keySet()
-				   .stream()
-				   .max(comparing(p -> p.getX().longValue()))
-				   .orElseThrow();
+		ensureBounds();
+		return Optional.ofNullable(maxXPoint).orElseThrow();
 	}
 
 	private Point2D<P> getMinX() {
-		return data.keySet()
-				   .stream()
-				   .min(comparing(p -> p.getX().longValue()))
-				   .orElseThrow();
+		ensureBounds();
+		return Optional.ofNullable(minXPoint).orElseThrow();
+	}
+
+	/**
+	 * Switches between the sparse (hash based) and dense (chunked) representation depending on the occupancy
+	 * of the bounding box. The dense representation is only available for integer based grids.
+	 */
+	@SuppressWarnings("unchecked")
+	private void adaptRepresentation() {
+		if (!adaptive || data.isEmpty()) {
+			return;
+		}
+		final var dense = (Map<?, ?>) data instanceof ChunkedPointMap<?>;
+		if (!dense && data.size() < DENSE_MIN_SIZE) {
+			return;
+		}
+		final var minXValue = getMinX().getX();
+		final var minX = minXValue.longValue();
+		final var maxX = getMaxX().getX().longValue();
+		final var minY = getMinY().getY().longValue();
+		final var maxY = getMaxY().getY().longValue();
+		final var occupancy = data.size() / ((double) (maxX - minX + 1) * (maxY - minY + 1));
+		if (dense && occupancy < SPARSE_OCCUPANCY) {
+			data = new HashMap<>(data);
+		} else if (!dense && occupancy >= DENSE_OCCUPANCY && minXValue instanceof Integer) {
+			data = (Map<Point2D<P>, T>) (Map<?, ?>) ChunkedPointMap.copyOf((Map<Point2D<Integer>, T>) (Map<?, ?>) data);
+		}
 	}
 
 	public FieldsView<P, T> fields() {
@@ -305,6 +534,30 @@ public class DynGrid<P extends Number, T> {
 					.map(e -> new Field<>(e.getKey(), e.getValue()));
 		}
 
+		/**
+		 * All fields of the given row, ordered by x. Only visits the occupied fields of that row.
+		 */
+		public Stream<Field<P, T>> row(final P y) {
+			return grid.rowIndex()
+					.getOrDefault(y, Set.of())
+					.stream()
+					.sorted(comparingLong(Number::longValue))
+					.map(x -> Point2D.create(x, y))
+					.map(p -> Field.create(p, grid.getValueRequired(p)));
+		}
+
+		/**
+		 * All fields of the given column, ordered by y. Only visits the occupied fields of that column.
+		 */
+		public Stream<Field<P, T>> column(final P x) {
+			return grid.columnIndex()
+					.getOrDefault(x, Set.of())
+					.stream()
+					.sorted(comparingLong(Number::longValue))
+					.map(y -> Point2D.create(x, y))
+					.map(p -> Field.create(p, grid.getValueRequired(p)));
+		}
+
 		public Stream<Row<P, T>> rows() {
 			final var minX = grid.getMinX();
 			final var maxX = grid.getMaxX();
@@ -342,17 +595,20 @@ public class DynGrid<P extends Number, T> {
 		public Stream<Point2D<P>> getCluster4(final Point2D<P> p,
 											  final Predicate<Field<P, T>> filter) {
 
+			// points are marked on enqueue, so each one is queued at most once
 			final var cluster = new HashSet<Point2D<P>>();
-			final var q = new LinkedList<Point2D<P>>();
+			final var q = new ArrayDeque<Point2D<P>>();
+			cluster.add(p);
 			q.add(p);
 			while (!q.isEmpty()) {
-				final var n = q.pop();
-				cluster.add(n);
+				final var n = q.poll();
 				grid.getAdjacents4(n)
 					.filter(not(cluster::contains))
-					.filter(not(q::contains))
 					.filter(a -> filter.test(new Field<>(a, grid.getValueRequired(a))))
-					.forEach(q::add);
+					.forEach(a -> {
+						cluster.add(a);
+						q.add(a);
+					});
 			}
 			return cluster.stream();
 		}
@@ -360,16 +616,20 @@ public class DynGrid<P extends Number, T> {
 		public Stream<Point2D<P>> getCluster4All(final Point2D<P> p,
 												 final Predicate<Field<P, Optional<T>>> filter) {
 
+			// points are marked on enqueue, so each one is queued at most once
 			final var cluster = new HashSet<Point2D<P>>();
-			final var q = new LinkedList<Point2D<P>>();
+			final var q = new ArrayDeque<Point2D<P>>();
+			cluster.add(p);
 			q.add(p);
 			while (!q.isEmpty()) {
-				final var n = q.pop();
-				cluster.add(n);
+				final var n = q.poll();
 				grid.getAdjacents4(n, true)
 					.filter(not(cluster::contains))
 					.filter(a -> filter.test(new Field<>(a, grid.getValue(a))))
-					.forEach(q::add);
+					.forEach(a -> {
+						cluster.add(a);
+						q.add(a);
+					});
 			}
 			return cluster.stream();
 		}
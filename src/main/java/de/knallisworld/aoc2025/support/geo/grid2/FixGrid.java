@@ -1,29 +1,44 @@
 package de.knallisworld.aoc2025.support.geo.grid2;
 
+import de.knallisworld.aoc2025.support.geo.PackedPoint2D;
 import de.knallisworld.aoc2025.support.geo.Point2D;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.Nullable;
 
 import java.lang.reflect.Array;
 import java.util.*;
 import java.util.function.*;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static java.lang.Math.floorMod;
 import static java.util.Objects.requireNonNull;
-import static java.util.function.Predicate.not;
 
 public class FixGrid<T> {
 
-	private final Class<T> type;
-	private final T[][] data;
+	final Class<T> type;
+	T[][] data;
+
+	/**
+	 * Rows which are shared with copies of this grid (copy-on-write), see {@link #copy(FixGrid)}.
+	 */
+	private boolean[] shared;
 
 	private final TransformView<T> transformView;
 
+	private boolean hashing;
+	private long hash;
+
 	public FixGrid(final Class<T> type, final int initialHeight, final int initialWidth) {
+		this(type, createData(type, initialHeight, initialWidth));
+	}
+
+	private FixGrid(final Class<T> type, final T[][] data) {
 		this.type = type;
-		this.data = createData(type, initialHeight, initialWidth);
+		this.data = data;
+		this.shared = new boolean[data.length];
 		this.transformView = new TransformView<>(this);
 	}
 
@@ -38,33 +53,30 @@ public class FixGrid<T> {
 			throw new IllegalArgumentException("scale must be greater than 1");
 		}
 		final var dst = new FixGrid<>(src.type, src.data.length * scale, src.data[0].length * scale);
-		IntStream.range(0, src.data.length)
-				 .forEach(srcY -> {
-					 IntStream.range(0, src.data[srcY].length)
-							  .forEach(srcX -> {
-								  final var dstOffset = Point2D.create(srcX * scale, srcY * scale);
-								  final var dstCenter = dstOffset.downRight();
-								  dst.setValue(dstCenter, src.getValueRequired(srcX, srcY));
-
-								  final var temp = FixGrid.create(src.type, scale, scale);
-								  valueExtrapolator.accept(
-										  new FieldsView.Field<>(
-												  dstCenter,
-												  dst.getValueRequired(dstCenter)
-										  ),
-										  temp
-								  );
-
-								  temp.fields()
-									  .forEach(field -> {
-										  dst.setValue(
-												  dstOffset.getX() + field.pos().getX(),
-												  dstOffset.getY() + field.pos().getY(),
-												  field.value()
-										  );
-									  });
-							  });
-				 });
+		// one scratch grid for all cells, cleared before each use
+		final var temp = FixGrid.create(src.type, scale, scale);
+		for (var srcY = 0; srcY < src.data.length; srcY++) {
+			for (var srcX = 0; srcX < src.data[srcY].length; srcX++) {
+				final var dstOffset = Point2D.create(srcX * scale, srcY * scale);
+				final var dstCenter = dstOffset.downRight();
+				dst.setValue(dstCenter, src.getValueRequired(srcX, srcY));
+
+				for (var y = 0; y < scale; y++) {
+					Arrays.fill(temp.ownRow(y), null);
+				}
+				temp.rehash();
+				valueExtrapolator.accept(
+						new FieldsView.Field<>(
+								dstCenter,
+								dst.getValueRequired(dstCenter)
+						),
+						temp
+				);
+
+				temp.fields()
+					.forEachCell((x, y, value) -> dst.setValue(dstOffset.getX() + x, dstOffset.getY() + y, value));
+			}
+		}
 		return dst;
 	}
 
@@ -78,12 +90,30 @@ public class FixGrid<T> {
 		return data;
 	}
 
+	/**
+	 * O(height) copy: both grids share all rows, a row is only copied on the first write into it (by either grid).
+	 * This makes branching searches over grid states cheap, as each branch only pays for the rows it changes.
+	 */
 	public static <T> FixGrid<T> copy(FixGrid<T> from) {
-		final var clone = create(from.type, from.getHeight(), from.getWidth());
-		from.fields().forEach(f -> clone.setValue(f.pos, f.value));
+		final var clone = new FixGrid<>(from.type, from.data.clone());
+		Arrays.fill(from.shared, true);
+		Arrays.fill(clone.shared, true);
+		clone.hashing = from.hashing;
+		clone.hash = from.hash;
 		return clone;
 	}
 
+	/**
+	 * @return the row for writing, copied first if it is still shared
+	 */
+	T[] ownRow(final int y) {
+		if (shared[y]) {
+			data[y] = data[y].clone();
+			shared[y] = false;
+		}
+		return data[y];
+	}
+
 	public static <T> FixGrid<T> of(final DynGrid<Integer, T> from,
 									final Class<T> type,
 									final T defaultValue) {
@@ -112,7 +142,18 @@ public class FixGrid<T> {
 	}
 
 	public void setValue(final int x, final int y, T value) {
-		data[y][x] = value;
+		if (hashing) {
+			final var index = y * data[0].length + x;
+			hash ^= GridHashing.cell(index, Objects.hashCode(data[y][x])) ^ GridHashing.cell(index, Objects.hashCode(value));
+		}
+		ownRow(y)[x] = value;
+	}
+
+	/**
+	 * @param p packed coordinate, see {@link PackedPoint2D}
+	 */
+	public void setValue(final long p, final T value) {
+		setValue(PackedPoint2D.x(p), PackedPoint2D.y(p), value);
 	}
 
 	public boolean hasValue(final Point2D<Integer> p) {
@@ -129,6 +170,13 @@ public class FixGrid<T> {
 		return data[y][x] != null;
 	}
 
+	/**
+	 * @param p packed coordinate, see {@link PackedPoint2D}
+	 */
+	public boolean hasValue(final long p) {
+		return hasValue(PackedPoint2D.x(p), PackedPoint2D.y(p));
+	}
+
 	public T getValueRequired(final Point2D<Integer> p) {
 		return getValueRequired(p.getX(), p.getY());
 	}
@@ -137,6 +185,13 @@ public class FixGrid<T> {
 		return requireNonNull(data[y][x]);
 	}
 
+	/**
+	 * @param p packed coordinate, see {@link PackedPoint2D}
+	 */
+	public T getValueRequired(final long p) {
+		return getValueRequired(PackedPoint2D.x(p), PackedPoint2D.y(p));
+	}
+
 	public Optional<T> getValue(final Point2D<Integer> p) {
 		return getValue(p.getX(), p.getY());
 	}
@@ -149,6 +204,13 @@ public class FixGrid<T> {
 		}
 	}
 
+	/**
+	 * @param p packed coordinate, see {@link PackedPoint2D}
+	 */
+	public Optional<T> getValue(final long p) {
+		return getValue(PackedPoint2D.x(p), PackedPoint2D.y(p));
+	}
+
 	public FieldsView<T> fields() {
 		return new FieldsView<>(this);
 	}
@@ -157,28 +219,142 @@ public class FixGrid<T> {
 		return transformView;
 	}
 
+	/**
+	 * Lazy view sharing this grid's storage, see {@link FixGridView}.
+	 */
+	public FixGridView<T> view() {
+		return FixGridView.of(this);
+	}
+
+	/**
+	 * Copy of the cells from {@code topLeft} to {@code bottomRight} (both inclusive, clipped to the grid); see
+	 * {@link FixGridView#window(Point2D, Point2D)} for a window without copying.
+	 */
 	public FixGrid<T> sub(final Point2D<Integer> topLeft, final Point2D<Integer> bottomRight) {
 		final var offsetY = Math.max(topLeft.getY(), 0);
 		final var offsetX = Math.max(topLeft.getX(), 0);
 		final var limitY = Math.min(bottomRight.getY(), getHeight() - 1);
 		final var limitX = Math.min(bottomRight.getX(), getWidth() - 1);
-		final var result = FixGrid.create(
-				type,
-				limitY - offsetY,
-				limitX - offsetX
-		);
-		for (var y = offsetY; y <= limitY; y++) {
-			for (var x = offsetX; x <= limitX; x++) {
-				result.setValue(x - offsetX, y - offsetY, getValueRequired(x, y));
+		return view()
+				.window(offsetX, offsetY, Math.max(limitX - offsetX + 1, 0), Math.max(limitY - offsetY + 1, 0))
+				.materialize();
+	}
+
+	public void fill(T value) {
+		for (var y = 0; y < data.length; y++) {
+			Arrays.fill(ownRow(y), value);
+		}
+		rehash();
+	}
+
+	/**
+	 * Enables the rolling (Zobrist) hash, which is maintained on every {@link #setValue(int, int, Object)} from now
+	 * on, so {@link #rollingHash()} is O(1) instead of a full scan like {@link #hashCode()}. Useful for cycle detection
+	 * of simulations. Values must not be mutated in place.
+	 */
+	public void enableHashing() {
+		hashing = true;
+		hash = computeHash();
+	}
+
+	/**
+	 * 64-bit hash of the current content; O(1) if {@link #enableHashing() enabled}, otherwise O(size).
+	 */
+	public long rollingHash() {
+		return hashing ? hash : computeHash();
+	}
+
+	/**
+	 * Recomputes the rolling hash (if enabled) after a bulk change.
+	 */
+	void rehash() {
+		if (hashing) {
+			hash = computeHash();
+		}
+	}
+
+	/**
+	 * Continues the rolling hash of another grid (if enabled there), which differs from this one by the given delta.
+	 */
+	void continueHash(final FixGrid<T> from, final long delta) {
+		hashing = from.hashing;
+		hash = from.hash ^ delta;
+	}
+
+	boolean isHashing() {
+		return hashing;
+	}
+
+	private long computeHash() {
+		final var width = getWidth();
+		var result = 0L;
+		for (var y = 0; y < data.length; y++) {
+			for (var x = 0; x < width; x++) {
+				result ^= GridHashing.cell(y * width + x, Objects.hashCode(data[y][x]));
 			}
 		}
 		return result;
 	}
 
-	public void fill(T value) {
-		IntStream.range(0, data.length)
-				 .forEach(y -> IntStream.range(0, data[y].length)
-										.forEach(x -> data[y][x] = value));
+	/**
+	 * Compact copy of the current content (one flat array), see {@link #restore(Snapshot)}.
+	 */
+	public Snapshot<T> snapshot() {
+		final var width = getWidth();
+		final var cells = new Object[size()];
+		for (var y = 0; y < data.length; y++) {
+			System.arraycopy(data[y], 0, cells, y * width, width);
+		}
+		return new Snapshot<>(width, cells, rollingHash());
+	}
+
+	/**
+	 * Restores the content of a snapshot of a grid with the same dimensions.
+	 */
+	public void restore(final Snapshot<T> snapshot) {
+		final var width = getWidth();
+		if (snapshot.width != width || snapshot.cells.length != size()) {
+			throw new IllegalArgumentException("snapshot dimension does not match");
+		}
+		for (var y = 0; y < data.length; y++) {
+			System.arraycopy(snapshot.cells, y * width, ownRow(y), 0, width);
+		}
+		if (hashing) {
+			hash = snapshot.hash;
+		}
+	}
+
+	/**
+	 * Immutable content of a grid, comparable by value.
+	 */
+	public static final class Snapshot<T> {
+
+		private final int width;
+		private final @Nullable Object[] cells;
+		private final long hash;
+
+		private Snapshot(final int width, final @Nullable Object[] cells, final long hash) {
+			this.width = width;
+			this.cells = cells;
+			this.hash = hash;
+		}
+
+		public long rollingHash() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(final Object o) {
+			if (this == o) return true;
+			if (!(o instanceof Snapshot<?> other)) return false;
+			return hash == other.hash && width == other.width && Arrays.equals(cells, other.cells);
+		}
+
+		@Override
+		public int hashCode() {
+			return Long.hashCode(hash);
+		}
+
 	}
 
 	public int getHeight() {
@@ -204,37 +380,50 @@ public class FixGrid<T> {
 			this.grid = grid;
 		}
 
+		/**
+		 * All present fields, row by row. Splits by row bands, so it can be used with {@link Stream#parallel()}.
+		 */
 		public Stream<Field<T>> stream() {
-			return IntStream
-					.range(0, grid.data.length)
-					.boxed()
-					.flatMap(y -> IntStream
-							.range(0, grid.data[y].length)
-							.boxed()
-							.map(x -> Point2D.create(x, y))
-							.filter(grid::hasValue)
-							.map(p -> new Field<>(p, grid.getValueRequired(p)))
-					);
+			return StreamSupport.stream(new FieldsSpliterator<>(grid, 0, grid.getHeight()), false);
 		}
 
 		public Stream<Field<T>> row(final int searchY) {
-			return IntStream
-					.range(0, grid.data.length)
-					.filter(y -> y == floorMod(searchY, grid.data.length))
-					.boxed()
-					.flatMap(y -> IntStream
-							.range(0, grid.data[y].length)
-							.boxed()
-							.map(x -> Point2D.create(x, y))
-							.filter(grid::hasValue)
-							.map(p -> new Field<>(p, grid.getValueRequired(p)))
-					);
+			final var y = floorMod(searchY, grid.getHeight());
+			return StreamSupport.stream(new FieldsSpliterator<>(grid, y, y + 1), false);
 		}
 
 		public void forEach(final Consumer<Field<T>> consumer) {
 			stream().forEach(consumer);
 		}
 
+		/**
+		 * Visits all present cells row by row without allocating a point or field per cell.
+		 */
+		public void forEachCell(final CellConsumer<T> consumer) {
+			for (var y = 0; y < grid.data.length; y++) {
+				forEachCellInRow(y, consumer);
+			}
+		}
+
+		/**
+		 * Visits all present cells with rows distributed over the common pool; the consumer must be thread-safe.
+		 */
+		public void forEachCellParallel(final CellConsumer<T> consumer) {
+			IntStream.range(0, grid.data.length)
+					 .parallel()
+					 .forEach(y -> forEachCellInRow(y, consumer));
+		}
+
+		private void forEachCellInRow(final int y, final CellConsumer<T> consumer) {
+			final var row = grid.data[y];
+			for (var x = 0; x < row.length; x++) {
+				final var value = row[x];
+				if (value != null) {
+					consumer.accept(x, y, value);
+				}
+			}
+		}
+
 		public Stream<Point2D<Integer>> getAdjacents4(final Point2D<Integer> p) {
 			return p.getAdjacents4()
 					.filter(grid::hasValue);
@@ -242,20 +431,33 @@ public class FixGrid<T> {
 
 		public Stream<Point2D<Integer>> getCluster4(final Point2D<Integer> p,
 													final Predicate<Field<T>> filter) {
+			final var width = grid.getWidth();
+			return GridTraversal
+					.floodFill(
+							width,
+							grid.getHeight(),
+							p.getX(),
+							p.getY(),
+							GridTraversal.Neighborhood.FOUR,
+							(x, y) -> grid.hasValue(x, y) && filter.test(new Field<>(Point2D.create(x, y), grid.getValueRequired(x, y)))
+					)
+					.stream()
+					.mapToObj(i -> Point2D.create(i % width, i / width));
+		}
 
-			final var cluster = new HashSet<Point2D<Integer>>();
-			final var q = new LinkedList<Point2D<Integer>>();
-			q.add(p);
-			while (!q.isEmpty()) {
-				final var n = q.pop();
-				cluster.add(n);
-				getAdjacents4(n)
-						.filter(not(cluster::contains))
-						.filter(not(q::contains))
-						.filter(a -> filter.test(new Field<>(a, grid.getValueRequired(a))))
-						.forEach(q::add);
-			}
-			return cluster.stream();
+		/**
+		 * Labels all clusters of present fields at once, see {@link GridTraversal#labelComponents}.
+		 *
+		 * @param connected whether two neighbouring values belong to the same cluster
+		 */
+		public GridTraversal.Components getClusters4(final BiPredicate<T, T> connected) {
+			return GridTraversal.labelComponents(
+					grid.getWidth(),
+					grid.getHeight(),
+					GridTraversal.Neighborhood.FOUR,
+					grid::hasValue,
+					(x1, y1, x2, y2) -> connected.test(grid.getValueRequired(x1, y1), grid.getValueRequired(x2, y2))
+			);
 		}
 
 		public Stream<Point2D<Integer>> getAdjacents8(final Point2D<Integer> p) {
@@ -263,6 +465,36 @@ public class FixGrid<T> {
 					.filter(grid::hasValue);
 		}
 
+		/**
+		 * Allocation-free variant of {@link #getAdjacents4(Point2D)} for packed coordinates.
+		 */
+		public void forEachAdjacent4(final long p, final LongConsumer consumer) {
+			acceptIfPresent(PackedPoint2D.up(p), consumer);
+			acceptIfPresent(PackedPoint2D.right(p), consumer);
+			acceptIfPresent(PackedPoint2D.down(p), consumer);
+			acceptIfPresent(PackedPoint2D.left(p), consumer);
+		}
+
+		/**
+		 * Allocation-free variant of {@link #getAdjacents8(Point2D)} for packed coordinates.
+		 */
+		public void forEachAdjacent8(final long p, final LongConsumer consumer) {
+			acceptIfPresent(PackedPoint2D.up(p), consumer);
+			acceptIfPresent(PackedPoint2D.upRight(p), consumer);
+			acceptIfPresent(PackedPoint2D.right(p), consumer);
+			acceptIfPresent(PackedPoint2D.downRight(p), consumer);
+			acceptIfPresent(PackedPoint2D.down(p), consumer);
+			acceptIfPresent(PackedPoint2D.downLeft(p), consumer);
+			acceptIfPresent(PackedPoint2D.left(p), consumer);
+			acceptIfPresent(PackedPoint2D.upLeft(p), consumer);
+		}
+
+		private void acceptIfPresent(final long p, final LongConsumer consumer) {
+			if (grid.hasValue(p)) {
+				consumer.accept(p);
+			}
+		}
+
 		public Stream<Point2D<Integer>> topEdge() {
 			return IntStream.range(0, grid.getWidth())
 							.boxed()
@@ -291,9 +523,105 @@ public class FixGrid<T> {
 
 	}
 
+	@FunctionalInterface
+	public interface CellConsumer<T> {
+
+		void accept(int x, int y, T value);
+
+	}
+
+	/**
+	 * Spliterator over the present fields of the rows {@code [fromY, toY)}, splitting into row bands.
+	 * <p>
+	 * Not {@code SIZED}: empty cells are skipped, so the exact count is unknown upfront.
+	 */
+	static class FieldsSpliterator<T> implements Spliterator<FieldsView.Field<T>> {
+
+		private final FixGrid<T> grid;
+		private int y;
+		private int x;
+		private int toY;
+
+		FieldsSpliterator(final FixGrid<T> grid, final int fromY, final int toY) {
+			this.grid = grid;
+			this.y = fromY;
+			this.x = 0;
+			this.toY = toY;
+		}
+
+		@Override
+		public boolean tryAdvance(final Consumer<? super FieldsView.Field<T>> action) {
+			while (y < toY) {
+				final var row = grid.data[y];
+				while (x < row.length) {
+					final var value = row[x];
+					final var currentX = x++;
+					if (value != null) {
+						action.accept(new FieldsView.Field<>(Point2D.create(currentX, y), value));
+						return true;
+					}
+				}
+				y++;
+				x = 0;
+			}
+			return false;
+		}
+
+		@Override
+		public void forEachRemaining(final Consumer<? super FieldsView.Field<T>> action) {
+			for (; y < toY; y++, x = 0) {
+				final var row = grid.data[y];
+				for (; x < row.length; x++) {
+					final var value = row[x];
+					if (value != null) {
+						action.accept(new FieldsView.Field<>(Point2D.create(x, y), value));
+					}
+				}
+			}
+		}
+
+		@Override
+		public @Nullable Spliterator<FieldsView.Field<T>> trySplit() {
+			// only untouched rows are handed out, the current (maybe partially consumed) row stays here
+			final var from = x == 0 ? y : y + 1;
+			final var mid = (from + toY) >>> 1;
+			if (mid <= from || mid >= toY) {
+				return null;
+			}
+			final var prefix = new FieldsSpliterator<>(grid, y, mid);
+			prefix.x = x;
+			this.y = mid;
+			this.x = 0;
+			return prefix;
+		}
+
+		@Override
+		public long estimateSize() {
+			if (y >= toY) {
+				return 0;
+			}
+			return (long) (toY - y) * grid.getWidth() - x;
+		}
+
+		@Override
+		public int characteristics() {
+			return ORDERED | NONNULL;
+		}
+
+	}
+
+	/**
+	 * In-place transformations of any grid shape; transposition and 90° rotations swap width and height.
+	 * See {@link #view()} for lazy transformations without moving any data.
+	 */
 	@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 	public static class TransformView<T> {
 
+		/**
+		 * Edge length of the square blocks of a transposition, so that source and target block stay in the L1 cache.
+		 */
+		private static final int BLOCK = 32;
+
 		private final FixGrid<T> grid;
 
 		@SuppressWarnings("UnusedReturnValue")
@@ -302,23 +630,24 @@ public class FixGrid<T> {
 		}
 
 		public TransformView<T> rotateRight(final int iterations) {
-			if (grid.getHeight() != grid.getWidth()) {
-				throw new IllegalStateException("grid dimension not supported");
-			}
-			final var n = grid.getHeight();
-			for (var a = 0; a < iterations; a++) {
-				for (int layer = 0; layer < n / 2; layer++) {
-					final var last = n - 1 - layer;
-					for (int i = layer; i < last; i++) {
-						final var offset = i - layer;
-						final var top = grid.getValueRequired(layer, i);
-						grid.setValue(layer, i, grid.getValueRequired(last - offset, layer));
-						grid.setValue(last - offset, layer, grid.getValueRequired(last, last - offset));
-						grid.setValue(last, last - offset, grid.getValueRequired(i, last));
-						grid.setValue(i, last, top);
-					}
+			switch (floorMod(iterations, 4)) {
+				case 1 -> {
+					transposeData();
+					flipRows();
+				}
+				case 2 -> {
+					flipColumns();
+					flipRows();
+				}
+				case 3 -> {
+					transposeData();
+					flipColumns();
+				}
+				default -> {
+					return this;
 				}
 			}
+			grid.rehash();
 			return this;
 		}
 
@@ -328,24 +657,81 @@ public class FixGrid<T> {
 		}
 
 		public TransformView<T> rotateLeft(final int iterations) {
-			if (grid.getHeight() != grid.getWidth()) {
-				throw new IllegalStateException("grid dimension not supported");
-			}
-			final var n = grid.getHeight();
-			for (var a = 0; a < iterations; a++) {
-				for (int layer = 0; layer < n / 2; layer++) {
-					final var last = n - 1 - layer;
-					for (int i = layer; i < last; i++) {
-						final var offset = i - layer;
-						final var top = grid.getValueRequired(layer, i);
-						grid.setValue(layer, i, grid.getValueRequired(i, last));
-						grid.setValue(i, last, grid.getValueRequired(last, last - offset));
-						grid.setValue(last, last - offset, grid.getValueRequired(last - offset, layer));
-						grid.setValue(last - offset, layer, top);
+			return rotateRight(-iterations);
+		}
+
+		/**
+		 * Mirrors along the main diagonal.
+		 */
+		public TransformView<T> transpose() {
+			transposeData();
+			grid.rehash();
+			return this;
+		}
+
+		/**
+		 * Mirrors left to right.
+		 */
+		public TransformView<T> flipHorizontal() {
+			flipColumns();
+			grid.rehash();
+			return this;
+		}
+
+		/**
+		 * Mirrors top to bottom; only moves row references.
+		 */
+		public TransformView<T> flipVertical() {
+			flipRows();
+			grid.rehash();
+			return this;
+		}
+
+		/**
+		 * Transposes block by block into new rows, so both the read and the written block stay cached (a plain
+		 * column-wise copy would miss the cache on every cell of large grids).
+		 */
+		private void transposeData() {
+			final var height = grid.getHeight();
+			final var width = grid.getWidth();
+			final var source = grid.data;
+			final var target = createData(grid.type, width, height);
+			for (var by = 0; by < height; by += BLOCK) {
+				for (var bx = 0; bx < width; bx += BLOCK) {
+					for (var y = by; y < Math.min(by + BLOCK, height); y++) {
+						final var row = source[y];
+						for (var x = bx; x < Math.min(bx + BLOCK, width); x++) {
+							target[x][y] = row[x];
+						}
 					}
 				}
 			}
-			return this;
+			grid.data = target;
+			grid.shared = new boolean[width];
+		}
+
+		private void flipColumns() {
+			for (var y = 0; y < grid.data.length; y++) {
+				final var row = grid.ownRow(y);
+				for (int left = 0, right = row.length - 1; left < right; left++, right--) {
+					final var t = row[left];
+					row[left] = row[right];
+					row[right] = t;
+				}
+			}
+		}
+
+		private void flipRows() {
+			final var data = grid.data;
+			final var shared = grid.shared;
+			for (int top = 0, bottom = data.length - 1; top < bottom; top++, bottom--) {
+				final var row = data[top];
+				data[top] = data[bottom];
+				data[bottom] = row;
+				final var rowShared = shared[top];
+				shared[top] = shared[bottom];
+				shared[bottom] = rowShared;
+			}
 		}
 
 	}
@@ -0,0 +1,531 @@
+package de.knallisworld.aoc2025.support.geo.grid2;
+
+import de.knallisworld.aoc2025.support.geo.PackedPoint2D;
+import de.knallisworld.aoc2025.support.geo.Point2D;
+import de.knallisworld.aoc2025.support.geo.grid2.FixGrid.CellConsumer;
+import de.knallisworld.aoc2025.support.geo.grid2.FixGrid.FieldsView.Field;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static de.knallisworld.aoc2025.support.math.NumberTheory.gcd;
+import static java.lang.Math.floorDiv;
+import static java.lang.Math.floorMod;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Lazy, coordinate-mapped view of a {@link FixGrid}: windows, transformations, strides, scaling and wrapping only
+ * remap coordinates, no data is moved until {@link #materialize()}. Reads and writes go through to the grid, so the
+ * view always reflects its current content, and it supports the same {@link #fields()} API as the grid.
+ * <p>
+ * Windows, strides and transformations are affine: view cell {@code (x, y)} is cell
+ * {@code (originX + x * stepXX + y * stepYX, originY + x * stepXY + y * stepYY)} of the grid, so any chain of them
+ * costs the same as a single one. Wrapping and scaling are applied on top of the view they are created from.
+ * A view is bound to the grid's dimensions at creation, so it must not be used anymore after an in-place
+ * transposition or 90° rotation of the grid.
+ */
+public final class FixGridView<T> {
+
+	/**
+	 * Edge length of the square blocks of {@link #materialize()}, see {@link FixGrid.TransformView}.
+	 */
+	private static final int BLOCK = 32;
+
+	private enum Mode {
+		/**
+		 * Mapped coordinates are grid coordinates.
+		 */
+		DIRECT,
+		/**
+		 * Mapped coordinates are taken modulo the dimensions of the parent view.
+		 */
+		WRAPPED,
+		/**
+		 * Mapped coordinates are divided by the scale.
+		 */
+		SCALED
+	}
+
+	private final FixGrid<T> grid;
+	private final Mode mode;
+	private final @Nullable FixGridView<T> parent;
+	private final int scale;
+
+	/**
+	 * Accepts any coordinate (wrapped), width and height are one period then.
+	 */
+	private final boolean unbounded;
+
+	private final int width;
+	private final int height;
+	private final int originX;
+	private final int originY;
+	// delta of a step into view x direction
+	private final int stepXX;
+	private final int stepXY;
+	// delta of a step into view y direction
+	private final int stepYX;
+	private final int stepYY;
+
+	private FixGridView(final FixGrid<T> grid,
+						final Mode mode,
+						final @Nullable FixGridView<T> parent,
+						final int scale,
+						final boolean unbounded,
+						final int width,
+						final int height,
+						final int originX,
+						final int originY,
+						final int stepXX,
+						final int stepXY,
+						final int stepYX,
+						final int stepYY) {
+		this.grid = grid;
+		this.mode = mode;
+		this.parent = parent;
+		this.scale = scale;
+		this.unbounded = unbounded;
+		this.width = width;
+		this.height = height;
+		this.originX = originX;
+		this.originY = originY;
+		this.stepXX = stepXX;
+		this.stepXY = stepXY;
+		this.stepYX = stepYX;
+		this.stepYY = stepYY;
+	}
+
+	/**
+	 * Identity view of the grid, see {@link FixGrid#view()}.
+	 */
+	public static <T> FixGridView<T> of(final FixGrid<T> grid) {
+		return new FixGridView<>(grid, Mode.DIRECT, null, 1, false, grid.getWidth(), grid.getHeight(), 0, 0, 1, 0, 0, 1);
+	}
+
+	/**
+	 * New view of the same kind (mode, parent) with another affine mapping.
+	 */
+	private FixGridView<T> mapped(final boolean unbounded,
+								  final int width,
+								  final int height,
+								  final int originX,
+								  final int originY,
+								  final int stepXX,
+								  final int stepXY,
+								  final int stepYX,
+								  final int stepYY) {
+		return new FixGridView<>(
+				grid, mode, parent, scale, unbounded, width, height, originX, originY, stepXX, stepXY, stepYX, stepYY
+		);
+	}
+
+	/**
+	 * View of this view without any mapping of its own.
+	 */
+	private FixGridView<T> layered(final Mode mode,
+								   final int scale,
+								   final boolean unbounded,
+								   final int width,
+								   final int height) {
+		return new FixGridView<>(grid, mode, this, scale, unbounded, width, height, 0, 0, 1, 0, 0, 1);
+	}
+
+	private int mappedX(final int x, final int y) {
+		return originX + x * stepXX + y * stepYX;
+	}
+
+	private int mappedY(final int x, final int y) {
+		return originY + x * stepXY + y * stepYY;
+	}
+
+	private @Nullable T cell(final int x, final int y) {
+		final var mx = mappedX(x, y);
+		final var my = mappedY(x, y);
+		return switch (mode) {
+			case DIRECT -> grid.data[my][mx];
+			case WRAPPED -> {
+				final var source = requireNonNull(parent);
+				yield source.cell(floorMod(mx, source.width), floorMod(my, source.height));
+			}
+			case SCALED -> requireNonNull(parent).cell(floorDiv(mx, scale), floorDiv(my, scale));
+		};
+	}
+
+	private void setCell(final int x, final int y, final T value) {
+		final var mx = mappedX(x, y);
+		final var my = mappedY(x, y);
+		switch (mode) {
+			case DIRECT -> grid.setValue(mx, my, value);
+			case WRAPPED -> {
+				final var source = requireNonNull(parent);
+				source.setCell(floorMod(mx, source.width), floorMod(my, source.height), value);
+			}
+			case SCALED -> requireNonNull(parent).setCell(floorDiv(mx, scale), floorDiv(my, scale), value);
+		}
+	}
+
+	private boolean inBounds(final int x, final int y) {
+		return unbounded || (0 <= x && x < width && 0 <= y && y < height);
+	}
+
+	private void checkBounds(final int x, final int y) {
+		if (!unbounded) {
+			Objects.checkIndex(x, width);
+			Objects.checkIndex(y, height);
+		}
+	}
+
+	/**
+	 * Window of the given size with its top left corner at {@code (x, y)}; must be inside this view unless it is
+	 * wrapped.
+	 */
+	public FixGridView<T> window(final int x, final int y, final int width, final int height) {
+		if (width < 0 || height < 0) {
+			throw new IllegalArgumentException("window size must not be negative");
+		}
+		if (!unbounded && (x < 0 || y < 0 || x + width > this.width || y + height > this.height)) {
+			throw new IllegalArgumentException("window out of bounds");
+		}
+		return mapped(false, width, height, mappedX(x, y), mappedY(x, y), stepXX, stepXY, stepYX, stepYY);
+	}
+
+	/**
+	 * Window from {@code topLeft} to {@code bottomRight} (both inclusive).
+	 */
+	public FixGridView<T> window(final Point2D<Integer> topLeft, final Point2D<Integer> bottomRight) {
+		return window(
+				topLeft.getX(),
+				topLeft.getY(),
+				bottomRight.getX() - topLeft.getX() + 1,
+				bottomRight.getY() - topLeft.getY() + 1
+		);
+	}
+
+	/**
+	 * Every {@code stepX}-th column and {@code stepY}-th row, starting with the first. Strided wrapped views are
+	 * wrapped as well: {@code x -> x * stepX} repeats after {@code width / gcd(width, stepX)} columns, which is the
+	 * width then (same for rows).
+	 */
+	public FixGridView<T> strided(final int stepX, final int stepY) {
+		if (stepX < 1 || stepY < 1) {
+			throw new IllegalArgumentException("steps must be positive");
+		}
+		return mapped(
+				unbounded,
+				unbounded ? width / (int) gcd(width, stepX) : Math.ceilDiv(width, stepX),
+				unbounded ? height / (int) gcd(height, stepY) : Math.ceilDiv(height, stepY),
+				originX, originY,
+				stepXX * stepX, stepXY * stepX, stepYX * stepY, stepYY * stepY
+		);
+	}
+
+	/**
+	 * Every cell repeated as a {@code factor x factor} block.
+	 */
+	public FixGridView<T> scaled(final int factor) {
+		if (factor < 1) {
+			throw new IllegalArgumentException("factor must be positive");
+		}
+		return layered(Mode.SCALED, factor, unbounded, width * factor, height * factor);
+	}
+
+	/**
+	 * Infinite view repeating this view in all directions; any coordinate is valid. Width, height and iterations over
+	 * all fields refer to a single period.
+	 */
+	public FixGridView<T> wrapped() {
+		return layered(Mode.WRAPPED, 1, true, width, height);
+	}
+
+	/**
+	 * This view repeated {@code countX} times horizontally and {@code countY} times vertically.
+	 */
+	public FixGridView<T> tiled(final int countX, final int countY) {
+		return wrapped().window(0, 0, width * countX, height * countY);
+	}
+
+	/**
+	 * Mirrored along the main diagonal; width and height are swapped.
+	 */
+	public FixGridView<T> transposed() {
+		return mapped(unbounded, height, width, originX, originY, stepYX, stepYY, stepXX, stepXY);
+	}
+
+	/**
+	 * Mirrored left to right.
+	 */
+	public FixGridView<T> flippedHorizontal() {
+		return mapped(
+				unbounded, width, height,
+				mappedX(width - 1, 0), mappedY(width - 1, 0),
+				-stepXX, -stepXY, stepYX, stepYY
+		);
+	}
+
+	/**
+	 * Mirrored top to bottom.
+	 */
+	public FixGridView<T> flippedVertical() {
+		return mapped(
+				unbounded, width, height,
+				mappedX(0, height - 1), mappedY(0, height - 1),
+				stepXX, stepXY, -stepYX, -stepYY
+		);
+	}
+
+	/**
+	 * Same orientation as {@link FixGrid.TransformView#rotateRight(int)}.
+	 */
+	public FixGridView<T> rotatedRight(final int iterations) {
+		return switch (floorMod(iterations, 4)) {
+			case 1 -> transposed().flippedVertical();
+			case 2 -> flippedHorizontal().flippedVertical();
+			case 3 -> transposed().flippedHorizontal();
+			default -> this;
+		};
+	}
+
+	public FixGridView<T> rotatedLeft(final int iterations) {
+		return rotatedRight(-iterations);
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	public int getHeight() {
+		return height;
+	}
+
+	public int size() {
+		return width * height;
+	}
+
+	public boolean isWrapped() {
+		return unbounded;
+	}
+
+	public boolean hasValue(final int x, final int y) {
+		return inBounds(x, y) && cell(x, y) != null;
+	}
+
+	public boolean hasValue(final Point2D<Integer> p) {
+		return hasValue(p.getX(), p.getY());
+	}
+
+	/**
+	 * @param p packed coordinate, see {@link PackedPoint2D}
+	 */
+	public boolean hasValue(final long p) {
+		return hasValue(PackedPoint2D.x(p), PackedPoint2D.y(p));
+	}
+
+	public T getValueRequired(final int x, final int y) {
+		checkBounds(x, y);
+		return requireNonNull(cell(x, y));
+	}
+
+	public T getValueRequired(final Point2D<Integer> p) {
+		return getValueRequired(p.getX(), p.getY());
+	}
+
+	/**
+	 * @param p packed coordinate, see {@link PackedPoint2D}
+	 */
+	public T getValueRequired(final long p) {
+		return getValueRequired(PackedPoint2D.x(p), PackedPoint2D.y(p));
+	}
+
+	public Optional<T> getValue(final int x, final int y) {
+		if (!inBounds(x, y)) {
+			return Optional.empty();
+		}
+		return Optional.ofNullable(cell(x, y));
+	}
+
+	public Optional<T> getValue(final Point2D<Integer> p) {
+		return getValue(p.getX(), p.getY());
+	}
+
+	/**
+	 * Writes through to the grid (copy-on-write rows and rolling hash included). Writing into a wrapped or scaled view
+	 * changes all cells sharing the same grid cell.
+	 */
+	public void setValue(final int x, final int y, final T value) {
+		checkBounds(x, y);
+		setCell(x, y, value);
+	}
+
+	public void setValue(final Point2D<Integer> p, final T value) {
+		setValue(p.getX(), p.getY(), value);
+	}
+
+	/**
+	 * Copies the view (a single period if wrapped) into a new grid, block by block, which is cache friendly for
+	 * transposed views as well.
+	 */
+	public FixGrid<T> materialize() {
+		final var result = FixGrid.create(grid.type, height, width);
+		for (var by = 0; by < height; by += BLOCK) {
+			for (var bx = 0; bx < width; bx += BLOCK) {
+				for (var y = by; y < Math.min(by + BLOCK, height); y++) {
+					final @Nullable T[] row = result.data[y];
+					for (var x = bx; x < Math.min(bx + BLOCK, width); x++) {
+						row[x] = cell(x, y);
+					}
+				}
+			}
+		}
+		return result;
+	}
+
+	public FieldsView<T> fields() {
+		return new FieldsView<>(this);
+	}
+
+	/**
+	 * Same API as {@link FixGrid.FieldsView}; iterations cover a single period of wrapped views, adjacents of wrapped
+	 * views are never out of bounds.
+	 */
+	public static class FieldsView<T> {
+
+		private final FixGridView<T> view;
+
+		public FieldsView(final FixGridView<T> view) {
+			this.view = view;
+		}
+
+		/**
+		 * All present fields, row by row.
+		 */
+		public Stream<Field<T>> stream() {
+			return IntStream.range(0, view.height)
+							.boxed()
+							.flatMap(this::rowFields);
+		}
+
+		public Stream<Field<T>> row(final int searchY) {
+			return rowFields(floorMod(searchY, view.height));
+		}
+
+		private Stream<Field<T>> rowFields(final int y) {
+			return IntStream.range(0, view.width)
+							.filter(x -> view.cell(x, y) != null)
+							.mapToObj(x -> new Field<>(Point2D.create(x, y), requireNonNull(view.cell(x, y))));
+		}
+
+		public void forEach(final Consumer<Field<T>> consumer) {
+			stream().forEach(consumer);
+		}
+
+		/**
+		 * Visits all present cells row by row without allocating a point or field per cell.
+		 */
+		public void forEachCell(final CellConsumer<T> consumer) {
+			for (var y = 0; y < view.height; y++) {
+				forEachCellInRow(y, consumer);
+			}
+		}
+
+		/**
+		 * Visits all present cells with rows distributed over the common pool; the consumer must be thread-safe.
+		 */
+		public void forEachCellParallel(final CellConsumer<T> consumer) {
+			IntStream.range(0, view.height)
+					 .parallel()
+					 .forEach(y -> forEachCellInRow(y, consumer));
+		}
+
+		private void forEachCellInRow(final int y, final CellConsumer<T> consumer) {
+			for (var x = 0; x < view.width; x++) {
+				final var value = view.cell(x, y);
+				if (value != null) {
+					consumer.accept(x, y, value);
+				}
+			}
+		}
+
+		public long count(final T value) {
+			final var count = new long[1];
+			forEachCell((_, _, cell) -> {
+				if (value.equals(cell)) {
+					count[0]++;
+				}
+			});
+			return count[0];
+		}
+
+		public Stream<Point2D<Integer>> getAdjacents4(final Point2D<Integer> p) {
+			return p.getAdjacents4()
+					.filter(view::hasValue);
+		}
+
+		public Stream<Point2D<Integer>> getAdjacents8(final Point2D<Integer> p) {
+			return p.getAdjacents8()
+					.filter(view::hasValue);
+		}
+
+		/**
+		 * Allocation-free variant of {@link #getAdjacents4(Point2D)} for packed coordinates.
+		 */
+		public void forEachAdjacent4(final long p, final LongConsumer consumer) {
+			acceptIfPresent(PackedPoint2D.up(p), consumer);
+			acceptIfPresent(PackedPoint2D.right(p), consumer);
+			acceptIfPresent(PackedPoint2D.down(p), consumer);
+			acceptIfPresent(PackedPoint2D.left(p), consumer);
+		}
+
+		/**
+		 * Allocation-free variant of {@link #getAdjacents8(Point2D)} for packed coordinates.
+		 */
+		public void forEachAdjacent8(final long p, final LongConsumer consumer) {
+			acceptIfPresent(PackedPoint2D.up(p), consumer);
+			acceptIfPresent(PackedPoint2D.upRight(p), consumer);
+			acceptIfPresent(PackedPoint2D.right(p), consumer);
+			acceptIfPresent(PackedPoint2D.downRight(p), consumer);
+			acceptIfPresent(PackedPoint2D.down(p), consumer);
+			acceptIfPresent(PackedPoint2D.downLeft(p), consumer);
+			acceptIfPresent(PackedPoint2D.left(p), consumer);
+			acceptIfPresent(PackedPoint2D.upLeft(p), consumer);
+		}
+
+		private void acceptIfPresent(final long p, final LongConsumer consumer) {
+			if (view.hasValue(p)) {
+				consumer.accept(p);
+			}
+		}
+
+		public Stream<Point2D<Integer>> topEdge() {
+			return IntStream.range(0, view.width)
+							.boxed()
+							.map(x -> Point2D.create(x, 0));
+		}
+
+		public Stream<Point2D<Integer>> bottomEdge() {
+			final var y = view.height - 1;
+			return IntStream.range(0, view.width)
+							.boxed()
+							.map(x -> Point2D.create(x, y));
+		}
+
+		public Stream<Point2D<Integer>> leftEdge() {
+			return IntStream.range(0, view.height)
+							.boxed()
+							.map(y -> Point2D.create(0, y));
+		}
+
+		public Stream<Point2D<Integer>> rightEdge() {
+			final var x = view.width - 1;
+			return IntStream.range(0, view.height)
+							.boxed()
+							.map(y -> Point2D.create(x, y));
+		}
+
+	}
+
+}
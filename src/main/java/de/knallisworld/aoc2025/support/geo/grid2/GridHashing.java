@@ -0,0 +1,25 @@
+package de.knallisworld.aoc2025.support.geo.grid2;
+
+/**
+ * Zobrist-style hashing of grid cells: the hash of a grid is the XOR of the hashes of all its (index, value) pairs, so
+ * changing a single cell updates it in O(1). Instead of a random table per (index, value), a keyed splitmix64 mix is
+ * used, which works for any value domain.
+ */
+final class GridHashing {
+
+	private GridHashing() {
+	}
+
+	static long cell(final int index, final long value) {
+		// mix is a bijection, so distinct primitive values of the same cell never collide; FixGrid passes hashCode(),
+		// so its values collide exactly if their hash codes are equal
+		return mix(mix(value) + index * 0x9E3779B97F4A7C15L);
+	}
+
+	static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+}
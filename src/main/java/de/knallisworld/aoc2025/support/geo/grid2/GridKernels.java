@@ -0,0 +1,323 @@
+package de.knallisworld.aoc2025.support.geo.grid2;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Bulk operations on the flat row-major arrays of the primitive grids ({@link IntGrid}, {@link LongGrid},
+ * {@link CharGrid}).
+ * <p>
+ * Counting and row reversal (flips, rotation by 180°) use the Vector API ({@code VectorGridKernels} in
+ * {@code src/vector/java}, only compiled with the Maven profile {@code vector}) if that class has been compiled, the
+ * module {@code jdk.incubator.vector} is available at runtime ({@code --add-modules jdk.incubator.vector}) and it is
+ * not disabled via the system property {@value #VECTOR_PROPERTY}{@code =false}; otherwise the scalar loops here are
+ * used. The class is loaded reflectively, so the default build does not need the incubator module.
+ * Transposition is a cache-blocked scalar loop in both cases; equality and fill are left to {@code Arrays}, whose
+ * intrinsics are vectorized already.
+ */
+final class GridKernels {
+
+	static final String VECTOR_PROPERTY = "aoc.vector";
+
+	/**
+	 * Edge length of the square blocks of a transposition, so that both blocks stay in the L1 cache.
+	 */
+	private static final int BLOCK = 32;
+
+	private static final String VECTOR_CLASS = "de.knallisworld.aoc2025.support.geo.grid2.VectorGridKernels";
+
+	/**
+	 * Vectorized kernels, implemented by {@code VectorGridKernels}.
+	 */
+	interface Vectorized {
+
+		long count(int[] data, int value);
+
+		long count(long[] data, long value);
+
+		long count(char[] data, char value);
+
+		void reverseRows(int[] data, int width);
+
+		void reverseRows(long[] data, int width);
+
+		void reverseRows(char[] data, int width);
+
+	}
+
+	// constant after class initialization, so the JIT drops the untaken branches; the vector class is not loaded then
+	private static final @Nullable Vectorized VECTORIZED = loadVectorized();
+
+	private GridKernels() {
+	}
+
+	private static @Nullable Vectorized loadVectorized() {
+		if (!Boolean.parseBoolean(System.getProperty(VECTOR_PROPERTY, "true"))
+			|| ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+			return null;
+		}
+		try {
+			return (Vectorized) Class.forName(VECTOR_CLASS).getDeclaredConstructor().newInstance();
+		} catch (final ReflectiveOperationException | LinkageError e) {
+			// not compiled (without the profile "vector")
+			return null;
+		}
+	}
+
+	static boolean isVectorized() {
+		return VECTORIZED != null;
+	}
+
+	static long count(final int[] data, final int value) {
+		final var vectorized = VECTORIZED;
+		if (vectorized != null) {
+			return vectorized.count(data, value);
+		}
+		var count = 0L;
+		for (final var cell : data) {
+			if (cell == value) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	static long count(final long[] data, final long value) {
+		final var vectorized = VECTORIZED;
+		if (vectorized != null) {
+			return vectorized.count(data, value);
+		}
+		var count = 0L;
+		for (final var cell : data) {
+			if (cell == value) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	static long count(final char[] data, final char value) {
+		final var vectorized = VECTORIZED;
+		if (vectorized != null) {
+			return vectorized.count(data, value);
+		}
+		var count = 0L;
+		for (final var cell : data) {
+			if (cell == value) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Reverses each row in place (horizontal flip); a row length of {@code data.length} reverses the whole array
+	 * (rotation by 180°). Nothing to do for a width of 0.
+	 */
+	static void reverseRows(final int[] data, final int width) {
+		if (width == 0) {
+			return;
+		}
+		final var vectorized = VECTORIZED;
+		if (vectorized != null) {
+			vectorized.reverseRows(data, width);
+			return;
+		}
+		for (var row = 0; row < data.length; row += width) {
+			reverse(data, row, row + width - 1);
+		}
+	}
+
+	static void reverseRows(final long[] data, final int width) {
+		if (width == 0) {
+			return;
+		}
+		final var vectorized = VECTORIZED;
+		if (vectorized != null) {
+			vectorized.reverseRows(data, width);
+			return;
+		}
+		for (var row = 0; row < data.length; row += width) {
+			reverse(data, row, row + width - 1);
+		}
+	}
+
+	static void reverseRows(final char[] data, final int width) {
+		if (width == 0) {
+			return;
+		}
+		final var vectorized = VECTORIZED;
+		if (vectorized != null) {
+			vectorized.reverseRows(data, width);
+			return;
+		}
+		for (var row = 0; row < data.length; row += width) {
+			reverse(data, row, row + width - 1);
+		}
+	}
+
+	/**
+	 * Reverses the cells {@code [left, right]}.
+	 */
+	static void reverse(final int[] data, int left, int right) {
+		while (left < right) {
+			final var t = data[left];
+			data[left++] = data[right];
+			data[right--] = t;
+		}
+	}
+
+	static void reverse(final long[] data, int left, int right) {
+		while (left < right) {
+			final var t = data[left];
+			data[left++] = data[right];
+			data[right--] = t;
+		}
+	}
+
+	static void reverse(final char[] data, int left, int right) {
+		while (left < right) {
+			final var t = data[left];
+			data[left++] = data[right];
+			data[right--] = t;
+		}
+	}
+
+	/**
+	 * Swaps the rows top to bottom in place (vertical flip). Nothing to do for a width of 0.
+	 */
+	static void reverseColumns(final int[] data, final int width) {
+		if (width == 0) {
+			return;
+		}
+		final var height = data.length / width;
+		final var temp = new int[width];
+		for (var y = 0; y < height / 2; y++) {
+			final var top = y * width;
+			final var bottom = (height - 1 - y) * width;
+			System.arraycopy(data, top, temp, 0, width);
+			System.arraycopy(data, bottom, data, top, width);
+			System.arraycopy(temp, 0, data, bottom, width);
+		}
+	}
+
+	static void reverseColumns(final long[] data, final int width) {
+		if (width == 0) {
+			return;
+		}
+		final var height = data.length / width;
+		final var temp = new long[width];
+		for (var y = 0; y < height / 2; y++) {
+			final var top = y * width;
+			final var bottom = (height - 1 - y) * width;
+			System.arraycopy(data, top, temp, 0, width);
+			System.arraycopy(data, bottom, data, top, width);
+			System.arraycopy(temp, 0, data, bottom, width);
+		}
+	}
+
+	static void reverseColumns(final char[] data, final int width) {
+		if (width == 0) {
+			return;
+		}
+		final var height = data.length / width;
+		final var temp = new char[width];
+		for (var y = 0; y < height / 2; y++) {
+			final var top = y * width;
+			final var bottom = (height - 1 - y) * width;
+			System.arraycopy(data, top, temp, 0, width);
+			System.arraycopy(data, bottom, data, top, width);
+			System.arraycopy(temp, 0, data, bottom, width);
+		}
+	}
+
+	/**
+	 * Transposes a {@code height x width} array into {@code target} ({@code width x height}), block by block.
+	 */
+	static void transpose(final int[] source, final int[] target, final int height, final int width) {
+		for (var by = 0; by < height; by += BLOCK) {
+			for (var bx = 0; bx < width; bx += BLOCK) {
+				for (var y = by; y < Math.min(by + BLOCK, height); y++) {
+					for (var x = bx; x < Math.min(bx + BLOCK, width); x++) {
+						target[x * height + y] = source[y * width + x];
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Transposes a square {@code n x n} array in place, block by block.
+	 */
+	static void transpose(final int[] data, final int n) {
+		for (var bi = 0; bi < n; bi += BLOCK) {
+			for (var bj = bi; bj < n; bj += BLOCK) {
+				for (var i = bi; i < Math.min(bi + BLOCK, n); i++) {
+					for (var j = Math.max(bj, i + 1); j < Math.min(bj + BLOCK, n); j++) {
+						final var t = data[i * n + j];
+						data[i * n + j] = data[j * n + i];
+						data[j * n + i] = t;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Transposes a {@code height x width} array into {@code target} ({@code width x height}), block by block.
+	 */
+	static void transpose(final long[] source, final long[] target, final int height, final int width) {
+		for (var by = 0; by < height; by += BLOCK) {
+			for (var bx = 0; bx < width; bx += BLOCK) {
+				for (var y = by; y < Math.min(by + BLOCK, height); y++) {
+					for (var x = bx; x < Math.min(bx + BLOCK, width); x++) {
+						target[x * height + y] = source[y * width + x];
+					}
+				}
+			}
+		}
+	}
+
+	static void transpose(final long[] data, final int n) {
+		for (var bi = 0; bi < n; bi += BLOCK) {
+			for (var bj = bi; bj < n; bj += BLOCK) {
+				for (var i = bi; i < Math.min(bi + BLOCK, n); i++) {
+					for (var j = Math.max(bj, i + 1); j < Math.min(bj + BLOCK, n); j++) {
+						final var t = data[i * n + j];
+						data[i * n + j] = data[j * n + i];
+						data[j * n + i] = t;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Transposes a {@code height x width} array into {@code target} ({@code width x height}), block by block.
+	 */
+	static void transpose(final char[] source, final char[] target, final int height, final int width) {
+		for (var by = 0; by < height; by += BLOCK) {
+			for (var bx = 0; bx < width; bx += BLOCK) {
+				for (var y = by; y < Math.min(by + BLOCK, height); y++) {
+					for (var x = bx; x < Math.min(bx + BLOCK, width); x++) {
+						target[x * height + y] = source[y * width + x];
+					}
+				}
+			}
+		}
+	}
+
+	static void transpose(final char[] data, final int n) {
+		for (var bi = 0; bi < n; bi += BLOCK) {
+			for (var bj = bi; bj < n; bj += BLOCK) {
+				for (var i = bi; i < Math.min(bi + BLOCK, n); i++) {
+					for (var j = Math.max(bj, i + 1); j < Math.min(bj + BLOCK, n); j++) {
+						final var t = data[i * n + j];
+						data[i * n + j] = data[j * n + i];
+						data[j * n + i] = t;
+					}
+				}
+			}
+		}
+	}
+
+}
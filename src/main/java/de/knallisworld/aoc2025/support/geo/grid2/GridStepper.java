@@ -0,0 +1,364 @@
+package de.knallisworld.aoc2025.support.geo.grid2;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+/**
+ * Double-buffered stepper for cellular automata (Game-of-Life like rules) on a {@link FixGrid}.
+ * <p>
+ * Each generation evaluates the rule for every cell against the current grid and writes into a second buffer,
+ * then both are swapped; no copy per generation. The grid is split into square tiles, rows of tiles are evaluated
+ * in parallel on a {@link ForkJoinPool}. Optionally, only tiles next to a change of the previous generation are
+ * evaluated ({@link StepperOptions#trackActive}), so quiescent areas are skipped.
+ * <p>
+ * The grid must not be changed between steps other than by the stepper, or {@link #invalidate()} must be called.
+ * An enabled {@link FixGrid#enableHashing() rolling hash} is maintained.
+ */
+public final class GridStepper<T> {
+
+	@FunctionalInterface
+	public interface Rule<T> {
+
+		/**
+		 * @return the next value of the cell, which must only depend on the given neighborhood. Must be thread-safe
+		 * when stepping in parallel.
+		 */
+		@Nullable T apply(Neighborhood<T> cell);
+
+	}
+
+	@Getter
+	@Builder
+	public static class StepperOptions {
+
+		/**
+		 * Edge length of the tiles, the unit of active tracking.
+		 */
+		@Builder.Default
+		private int tileSize = 32;
+
+		/**
+		 * Evaluates rows of tiles concurrently.
+		 */
+		@Builder.Default
+		private boolean parallel = true;
+
+		/**
+		 * Pool for parallel stepping, null for the common pool.
+		 */
+		@Builder.Default
+		private @Nullable ForkJoinPool pool = null;
+
+		/**
+		 * Skips tiles whose 3x3 tile neighborhood did not change in the previous generation. Only valid for rules
+		 * which consider the 8 adjacent cells at most (the usual case), as their result cannot change then.
+		 */
+		@Builder.Default
+		private boolean trackActive = false;
+
+	}
+
+	private static final int[] DX4 = {0, 1, 0, -1};
+	private static final int[] DY4 = {-1, 0, 1, 0};
+	private static final int[] DX8 = {0, 1, 1, 1, 0, -1, -1, -1};
+	private static final int[] DY8 = {-1, -1, 0, 1, 1, 1, 0, -1};
+
+	private final Rule<T> rule;
+	private final StepperOptions options;
+	private final int width;
+	private final int height;
+	private final int tilesX;
+	private final int tilesY;
+
+	private FixGrid<T> front;
+	private FixGrid<T> back;
+	private long generation;
+
+	/**
+	 * Tiles changed by the last step, null if unknown (everything is active then).
+	 */
+	private boolean @Nullable [] changed;
+
+	private GridStepper(final FixGrid<T> grid, final Rule<T> rule, final StepperOptions options) {
+		if (options.getTileSize() < 1) {
+			throw new IllegalArgumentException("tile size must be positive");
+		}
+		this.rule = rule;
+		this.options = options;
+		this.width = grid.getWidth();
+		this.height = grid.getHeight();
+		this.tilesX = Math.ceilDiv(width, options.getTileSize());
+		this.tilesY = Math.ceilDiv(height, options.getTileSize());
+		this.front = grid;
+		this.back = FixGrid.copy(grid);
+	}
+
+	public static <T> GridStepper<T> create(final FixGrid<T> grid, final Rule<T> rule) {
+		return create(grid, rule, _ -> {
+		});
+	}
+
+	public static <T> GridStepper<T> create(final FixGrid<T> grid,
+											final Rule<T> rule,
+											final Consumer<StepperOptions.StepperOptionsBuilder> configurer) {
+		final var builder = StepperOptions.builder();
+		configurer.accept(builder);
+		return new GridStepper<>(grid, rule, builder.build());
+	}
+
+	/**
+	 * The grid of the current generation. Note that the instance alternates between two grids on every step.
+	 */
+	public FixGrid<T> grid() {
+		return front;
+	}
+
+	public long generation() {
+		return generation;
+	}
+
+	/**
+	 * Whether the last step did not change any cell (false before the first step).
+	 */
+	public boolean isStable() {
+		final var last = changed;
+		if (last == null) {
+			return false;
+		}
+		for (final var tile : last) {
+			if (tile) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * To be called after the grid was changed from outside.
+	 */
+	public void invalidate() {
+		back = FixGrid.copy(front);
+		changed = null;
+	}
+
+	public void step(final long generations) {
+		for (var i = 0L; i < generations; i++) {
+			step();
+		}
+	}
+
+	/**
+	 * Steps until a generation does not change anything anymore. Does not terminate for oscillating automata, see
+	 * {@link de.knallisworld.aoc2025.support.lang.Cycles} for those.
+	 *
+	 * @return number of steps done, including the final one without changes
+	 */
+	public long stepUntilStable() {
+		var steps = 0L;
+		do {
+			step();
+			steps++;
+		} while (!isStable());
+		return steps;
+	}
+
+	public void step() {
+		final var active = options.isTrackActive() ? activeTiles() : null;
+		final var nextChanged = new boolean[tilesX * tilesY];
+		final var hashDeltas = front.isHashing() ? new long[tilesY] : null;
+		if (options.isParallel() && tilesY > 1) {
+			final var pool = Objects.requireNonNullElseGet(options.getPool(), ForkJoinPool::commonPool);
+			// a parallel stream started from within a pool runs in that pool
+			pool.submit(() -> IntStream.range(0, tilesY)
+									   .parallel()
+									   .forEach(ty -> stepTileRow(ty, active, nextChanged, hashDeltas)))
+				.join();
+		} else {
+			for (var ty = 0; ty < tilesY; ty++) {
+				stepTileRow(ty, active, nextChanged, hashDeltas);
+			}
+		}
+
+		if (hashDeltas != null) {
+			var delta = 0L;
+			for (final var tileRowDelta : hashDeltas) {
+				delta ^= tileRowDelta;
+			}
+			back.continueHash(front, delta);
+		}
+		final var previous = front;
+		front = back;
+		back = previous;
+		changed = nextChanged;
+		generation++;
+	}
+
+	/**
+	 * @return tiles to evaluate: those with a changed tile in their 3x3 tile neighborhood, null for all
+	 */
+	private boolean @Nullable [] activeTiles() {
+		final var last = changed;
+		if (last == null) {
+			return null;
+		}
+		final var active = new boolean[last.length];
+		for (var ty = 0; ty < tilesY; ty++) {
+			for (var tx = 0; tx < tilesX; tx++) {
+				if (!last[ty * tilesX + tx]) {
+					continue;
+				}
+				for (var y = Math.max(ty - 1, 0); y <= Math.min(ty + 1, tilesY - 1); y++) {
+					for (var x = Math.max(tx - 1, 0); x <= Math.min(tx + 1, tilesX - 1); x++) {
+						active[y * tilesX + x] = true;
+					}
+				}
+			}
+		}
+		return active;
+	}
+
+	private void stepTileRow(final int ty,
+							 final boolean @Nullable [] active,
+							 final boolean[] nextChanged,
+							 final long @Nullable [] hashDeltas) {
+		// tiles skipped by tracking did not change in the last step, so both buffers are equal there already
+		final var tileSize = options.getTileSize();
+		final var cell = new Neighborhood<>(front.data, width, height);
+		final var fromY = ty * tileSize;
+		final var toY = Math.min(fromY + tileSize, height);
+		var hashDelta = 0L;
+		for (var tx = 0; tx < tilesX; tx++) {
+			final var tile = ty * tilesX + tx;
+			if (active != null && !active[tile]) {
+				continue;
+			}
+			final var fromX = tx * tileSize;
+			final var toX = Math.min(fromX + tileSize, width);
+			var tileChanged = false;
+			for (var y = fromY; y < toY; y++) {
+				final var current = front.data[y];
+				final var next = back.ownRow(y);
+				cell.y = y;
+				for (var x = fromX; x < toX; x++) {
+					cell.x = x;
+					final var value = rule.apply(cell);
+					next[x] = value;
+					if (value != current[x] && !Objects.equals(value, current[x])) {
+						tileChanged = true;
+						if (hashDeltas != null) {
+							final var index = y * width + x;
+							hashDelta ^= GridHashing.cell(index, Objects.hashCode(current[x]))
+										 ^ GridHashing.cell(index, Objects.hashCode(value));
+						}
+					}
+				}
+			}
+			nextChanged[tile] = tileChanged;
+		}
+		if (hashDeltas != null) {
+			hashDeltas[ty] = hashDelta;
+		}
+	}
+
+	/**
+	 * Cursor on the cell being evaluated, with allocation-free access to its neighbors. Out-of-bounds neighbors are
+	 * treated as empty (null).
+	 */
+	public static final class Neighborhood<T> {
+
+		private final T[][] data;
+		private final int width;
+		private final int height;
+		private int x;
+		private int y;
+
+		private Neighborhood(final T[][] data, final int width, final int height) {
+			this.data = data;
+			this.width = width;
+			this.height = height;
+		}
+
+		public int x() {
+			return x;
+		}
+
+		public int y() {
+			return y;
+		}
+
+		public @Nullable T value() {
+			return data[y][x];
+		}
+
+		/**
+		 * @return the value at the given offset, null if empty or out of bounds
+		 */
+		public @Nullable T at(final int dx, final int dy) {
+			final var nx = x + dx;
+			final var ny = y + dy;
+			if (nx < 0 || nx >= width || ny < 0 || ny >= height) {
+				return null;
+			}
+			return data[ny][nx];
+		}
+
+		/**
+		 * Number of the 4 adjacent cells equal to the given value.
+		 */
+		public int count4(final T value) {
+			return countEqual(DX4, DY4, value);
+		}
+
+		/**
+		 * Number of the 8 adjacent cells (including diagonals) equal to the given value.
+		 */
+		public int count8(final T value) {
+			return countEqual(DX8, DY8, value);
+		}
+
+		/**
+		 * Number of the present 4 adjacent cells matching the filter.
+		 */
+		public int count4(final Predicate<? super T> filter) {
+			return countMatching(DX4, DY4, filter);
+		}
+
+		/**
+		 * Number of the present 8 adjacent cells (including diagonals) matching the filter.
+		 */
+		public int count8(final Predicate<? super T> filter) {
+			return countMatching(DX8, DY8, filter);
+		}
+
+		private int countEqual(final int[] dxs, final int[] dys, final T value) {
+			var count = 0;
+			for (var i = 0; i < dxs.length; i++) {
+				final var neighbor = at(dxs[i], dys[i]);
+				if (neighbor == value || value.equals(neighbor)) {
+					count++;
+				}
+			}
+			return count;
+		}
+
+		private int countMatching(final int[] dxs, final int[] dys, final Predicate<? super T> filter) {
+			var count = 0;
+			for (var i = 0; i < dxs.length; i++) {
+				final var neighbor = at(dxs[i], dys[i]);
+				if (neighbor != null && filter.test(neighbor)) {
+					count++;
+				}
+			}
+			return count;
+		}
+
+	}
+
+}
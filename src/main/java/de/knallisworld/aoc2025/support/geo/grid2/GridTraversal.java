@@ -0,0 +1,286 @@
+package de.knallisworld.aoc2025.support.geo.grid2;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Objects;
+
+/**
+ * Allocation-lean BFS/flood fill and connected component labeling over a {@code width x height} cell space.
+ * <p>
+ * Cells are addressed by index {@code y * width + x}; the visited mask is a {@link BitSet}, the frontier an int ring
+ * buffer. Grid specific access is done through the predicates, so this works with any grid implementation.
+ */
+public class GridTraversal {
+
+	public enum Neighborhood {
+
+		FOUR(new int[]{0, 1, 0, -1}, new int[]{-1, 0, 1, 0}),
+		EIGHT(new int[]{0, 1, 1, 1, 0, -1, -1, -1}, new int[]{-1, -1, 0, 1, 1, 1, 0, -1});
+
+		private final int[] dx;
+		private final int[] dy;
+
+		Neighborhood(final int[] dx, final int[] dy) {
+			this.dx = dx;
+			this.dy = dy;
+		}
+
+	}
+
+	@FunctionalInterface
+	public interface CellPredicate {
+
+		boolean test(int x, int y);
+
+	}
+
+	@FunctionalInterface
+	public interface ConnectionPredicate {
+
+		boolean test(int x1, int y1, int x2, int y2);
+
+	}
+
+	/**
+	 * @param labels component label per cell index, {@code -1} for excluded cells
+	 * @param count  number of components, labels are {@code 0..count-1}
+	 * @param sizes  number of cells per label
+	 */
+	public record Components(int width, int[] labels, int count, int[] sizes) {
+
+		public int label(final int x, final int y) {
+			return labels[y * width + x];
+		}
+
+		public BitSet mask(final int label) {
+			final var result = new BitSet(labels.length);
+			for (var i = 0; i < labels.length; i++) {
+				if (labels[i] == label) {
+					result.set(i);
+				}
+			}
+			return result;
+		}
+
+	}
+
+	/**
+	 * Flood fill starting at the given cell (which is always part of the result).
+	 *
+	 * @return visited mask, indexed by {@code y * width + x}
+	 * @throws IndexOutOfBoundsException if the start cell is outside of the cell space
+	 */
+	public static BitSet floodFill(final int width,
+								   final int height,
+								   final int startX,
+								   final int startY,
+								   final Neighborhood neighborhood,
+								   final CellPredicate passable) {
+		final var visited = new BitSet(width * height);
+		bfs(width, height, startX, startY, neighborhood, passable, visited, null);
+		return visited;
+	}
+
+	/**
+	 * BFS step distances from the given cell.
+	 *
+	 * @return distance per cell index, {@code -1} if unreachable
+	 * @throws IndexOutOfBoundsException if the start cell is outside of the cell space
+	 */
+	public static int[] distances(final int width,
+								  final int height,
+								  final int startX,
+								  final int startY,
+								  final Neighborhood neighborhood,
+								  final CellPredicate passable) {
+		final var distances = new int[width * height];
+		Arrays.fill(distances, -1);
+		bfs(width, height, startX, startY, neighborhood, passable, new BitSet(width * height), distances);
+		return distances;
+	}
+
+	private static void bfs(final int width,
+							final int height,
+							final int startX,
+							final int startY,
+							final Neighborhood neighborhood,
+							final CellPredicate passable,
+							final BitSet visited,
+							final int @Nullable [] distances) {
+		final var dx = neighborhood.dx;
+		final var dy = neighborhood.dy;
+		// an unchecked start would silently wrap into the next row
+		Objects.checkIndex(startX, width);
+		Objects.checkIndex(startY, height);
+		final var queue = new IntRingBuffer();
+		final var start = startY * width + startX;
+		visited.set(start);
+		if (distances != null) {
+			distances[start] = 0;
+		}
+		queue.add(start);
+		while (!queue.isEmpty()) {
+			final var index = queue.poll();
+			final var x = index % width;
+			final var y = index / width;
+			for (var d = 0; d < dx.length; d++) {
+				final var nx = x + dx[d];
+				final var ny = y + dy[d];
+				if (nx < 0 || nx >= width || ny < 0 || ny >= height) {
+					continue;
+				}
+				final var next = ny * width + nx;
+				// marking on enqueue keeps every cell in the queue at most once
+				if (visited.get(next) || !passable.test(nx, ny)) {
+					continue;
+				}
+				visited.set(next);
+				if (distances != null) {
+					distances[next] = distances[index] + 1;
+				}
+				queue.add(next);
+			}
+		}
+	}
+
+	/**
+	 * Labels all connected components in a single row-major pass (union-find), followed by a relabeling pass.
+	 *
+	 * @param include whether a cell takes part at all
+	 */
+	public static Components labelComponents(final int width,
+											 final int height,
+											 final Neighborhood neighborhood,
+											 final CellPredicate include) {
+		return labelComponents(width, height, neighborhood, include, (_, _, _, _) -> true);
+	}
+
+	/**
+	 * Labels all connected components in a single row-major pass (union-find), followed by a relabeling pass.
+	 *
+	 * @param include   whether a cell takes part at all
+	 * @param connected whether two included neighbouring cells belong together (e.g. same value)
+	 */
+	public static Components labelComponents(final int width,
+											 final int height,
+											 final Neighborhood neighborhood,
+											 final CellPredicate include,
+											 final ConnectionPredicate connected) {
+		final var size = width * height;
+		final var parent = new int[size];
+		for (var y = 0; y < height; y++) {
+			for (var x = 0; x < width; x++) {
+				final var index = y * width + x;
+				if (!include.test(x, y)) {
+					parent[index] = -1;
+					continue;
+				}
+				parent[index] = index;
+				// only the already visited half of the neighborhood: left, up (and up-left, up-right)
+				if (x > 0) {
+					union(parent, index, x - 1, y, width, x, y, connected);
+				}
+				if (y > 0) {
+					union(parent, index, x, y - 1, width, x, y, connected);
+					if (neighborhood == Neighborhood.EIGHT) {
+						if (x > 0) {
+							union(parent, index, x - 1, y - 1, width, x, y, connected);
+						}
+						if (x + 1 < width) {
+							union(parent, index, x + 1, y - 1, width, x, y, connected);
+						}
+					}
+				}
+			}
+		}
+		final var labels = new int[size];
+		final var rootLabels = new int[size];
+		Arrays.fill(rootLabels, -1);
+		var count = 0;
+		for (var i = 0; i < size; i++) {
+			if (parent[i] < 0) {
+				labels[i] = -1;
+				continue;
+			}
+			final var root = find(parent, i);
+			if (rootLabels[root] < 0) {
+				rootLabels[root] = count++;
+			}
+			labels[i] = rootLabels[root];
+		}
+		final var sizes = new int[count];
+		for (final var label : labels) {
+			if (label >= 0) {
+				sizes[label]++;
+			}
+		}
+		return new Components(width, labels, count, sizes);
+	}
+
+	private static void union(final int[] parent,
+							  final int index,
+							  final int otherX,
+							  final int otherY,
+							  final int width,
+							  final int x,
+							  final int y,
+							  final ConnectionPredicate connected) {
+		final var other = otherY * width + otherX;
+		if (parent[other] < 0 || !connected.test(otherX, otherY, x, y)) {
+			return;
+		}
+		final var a = find(parent, index);
+		final var b = find(parent, other);
+		if (a != b) {
+			// the smaller index becomes the root, keeps labels in row-major order of appearance
+			parent[Math.max(a, b)] = Math.min(a, b);
+		}
+	}
+
+	private static int find(final int[] parent, int index) {
+		while (parent[index] != index) {
+			// path halving
+			parent[index] = parent[parent[index]];
+			index = parent[index];
+		}
+		return index;
+	}
+
+	/**
+	 * Growable FIFO of primitive ints.
+	 */
+	static final class IntRingBuffer {
+
+		private int[] elements = new int[64];
+		private int head;
+		private int size;
+
+		void add(final int value) {
+			if (size == elements.length) {
+				final var grown = new int[elements.length << 1];
+				final var firstPart = elements.length - head;
+				System.arraycopy(elements, head, grown, 0, firstPart);
+				System.arraycopy(elements, 0, grown, firstPart, head);
+				elements = grown;
+				head = 0;
+			}
+			elements[(head + size) & (elements.length - 1)] = value;
+			size++;
+		}
+
+		int poll() {
+			final var value = elements[head];
+			head = (head + 1) & (elements.length - 1);
+			size--;
+			return value;
+		}
+
+		boolean isEmpty() {
+			return size == 0;
+		}
+
+	}
+
+}
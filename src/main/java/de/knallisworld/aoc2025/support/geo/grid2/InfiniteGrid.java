@@ -1,5 +1,6 @@
 package de.knallisworld.aoc2025.support.geo.grid2;
 
+import de.knallisworld.aoc2025.support.geo.PackedPoint2D;
 import de.knallisworld.aoc2025.support.geo.Point2D;
 import lombok.Builder;
 import lombok.Getter;
@@ -11,15 +12,17 @@ import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 import static java.lang.Math.floorMod;
-import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toSet;
 
 public class InfiniteGrid<T> {
 
 	final FixGrid<T> base;
+	// rebuilt when the base grid changed its dimensions (transposition or rotation in place)
+	private FixGridView<T> view;
 
 	InfiniteGrid(final FixGrid<T> base) {
 		this.base = base;
+		this.view = base.view().wrapped();
 	}
 
 	public static <T> InfiniteGrid<T> of(final FixGrid<T> fixGrid) {
@@ -31,11 +34,28 @@ public class InfiniteGrid<T> {
 	}
 
 	public T getValueRequired(final int x, final int y) {
-		final var width = base.getWidth();
-		final var height = base.getHeight();
-		final var rx = floorMod(x, width);
-		final var ry = floorMod(y, height);
-		return requireNonNull(base.getValueRequired(rx, ry));
+		return view().getValueRequired(x, y);
+	}
+
+	/**
+	 * @param p packed coordinate, see {@link PackedPoint2D}
+	 */
+	public T getValueRequired(final long p) {
+		return getValueRequired(PackedPoint2D.x(p), PackedPoint2D.y(p));
+	}
+
+	/**
+	 * The wrapped view of the base grid (following its current dimensions), which can be windowed, transformed or
+	 * scaled further without copying.
+	 */
+	public FixGridView<T> view() {
+		final var current = view;
+		if (current.getWidth() == base.getWidth() && current.getHeight() == base.getHeight()) {
+			return current;
+		}
+		final var rebuilt = base.view().wrapped();
+		view = rebuilt;
+		return rebuilt;
 	}
 
 	public FieldsView<T> fields() {
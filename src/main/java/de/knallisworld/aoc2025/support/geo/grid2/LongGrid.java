@@ -0,0 +1,564 @@
+package de.knallisworld.aoc2025.support.geo.grid2;
+
+import de.knallisworld.aoc2025.support.geo.PackedPoint2D;
+import de.knallisworld.aoc2025.support.geo.Point2D;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.function.IntToLongFunction;
+import java.util.function.LongConsumer;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.lang.Math.floorMod;
+
+/**
+ * Primitive variant of {@link FixGrid} for long values, backed by a single flat row-major {@code long[]}.
+ */
+public class LongGrid {
+
+	private final long[] data;
+	private int height;
+	private int width;
+
+	private final TransformView transformView;
+
+	private boolean hashing;
+	private long hash;
+
+	public LongGrid(final int initialHeight, final int initialWidth) {
+		this.height = initialHeight;
+		this.width = initialWidth;
+		this.data = new long[initialHeight * initialWidth];
+		this.transformView = new TransformView(this);
+	}
+
+	public static LongGrid create(final int initialHeight, final int initialWidth) {
+		return new LongGrid(initialHeight, initialWidth);
+	}
+
+	public static LongGrid copy(final LongGrid from) {
+		final var clone = create(from.height, from.width);
+		System.arraycopy(from.data, 0, clone.data, 0, from.data.length);
+		return clone;
+	}
+
+	public static LongGrid of(final FixGrid<Long> from) {
+		final var grid = create(from.getHeight(), from.getWidth());
+		for (var y = 0; y < grid.height; y++) {
+			for (var x = 0; x < grid.width; x++) {
+				grid.data[grid.index(x, y)] = from.getValueRequired(x, y);
+			}
+		}
+		return grid;
+	}
+
+	public static LongGrid parseDigits(final List<String> lines) {
+		return parseBySymbols2D(lines, c -> c - '0');
+	}
+
+	public static LongGrid parseBySymbols2D(final List<String> lines, final IntToLongFunction decoder) {
+		final var grid = create(lines.size(), lines.getFirst().length());
+		for (int y = 0; y < lines.size(); y++) {
+			for (int x = 0; x < lines.get(y).length(); x++) {
+				grid.setValue(x, y, decoder.applyAsLong(lines.get(y).charAt(x)));
+			}
+		}
+		return grid;
+	}
+
+	public FixGrid<Long> toFixGrid() {
+		final var grid = FixGrid.create(Long.class, height, width);
+		for (var y = 0; y < height; y++) {
+			for (var x = 0; x < width; x++) {
+				grid.setValue(x, y, data[index(x, y)]);
+			}
+		}
+		return grid;
+	}
+
+	int index(final int x, final int y) {
+		return Objects.checkIndex(y, height) * width + Objects.checkIndex(x, width);
+	}
+
+	public void setValue(final Point2D<Integer> p, final long value) {
+		setValue(p.getX(), p.getY(), value);
+	}
+
+	public void setValue(final int x, final int y, final long value) {
+		final var index = index(x, y);
+		if (hashing) {
+			hash ^= GridHashing.cell(index, data[index]) ^ GridHashing.cell(index, value);
+		}
+		data[index] = value;
+	}
+
+	/**
+	 * @param p packed coordinate, see {@link PackedPoint2D}
+	 */
+	public void setValue(final long p, final long value) {
+		setValue(PackedPoint2D.x(p), PackedPoint2D.y(p), value);
+	}
+
+	public boolean hasValue(final Point2D<Integer> p) {
+		return hasValue(p.getX(), p.getY());
+	}
+
+	public boolean hasValue(final int x, final int y) {
+		return 0 <= y && y < height && 0 <= x && x < width;
+	}
+
+	/**
+	 * @param p packed coordinate, see {@link PackedPoint2D}
+	 */
+	public boolean hasValue(final long p) {
+		return hasValue(PackedPoint2D.x(p), PackedPoint2D.y(p));
+	}
+
+	public long getValueRequired(final Point2D<Integer> p) {
+		return getValueRequired(p.getX(), p.getY());
+	}
+
+	public long getValueRequired(final int x, final int y) {
+		return data[index(x, y)];
+	}
+
+	/**
+	 * @param p packed coordinate, see {@link PackedPoint2D}
+	 */
+	public long getValueRequired(final long p) {
+		return getValueRequired(PackedPoint2D.x(p), PackedPoint2D.y(p));
+	}
+
+	public Optional<Long> getValue(final Point2D<Integer> p) {
+		return getValue(p.getX(), p.getY());
+	}
+
+	public Optional<Long> getValue(final int x, final int y) {
+		if (hasValue(x, y)) {
+			return Optional.of(data[index(x, y)]);
+		} else {
+			return Optional.empty();
+		}
+	}
+
+	public FieldsView fields() {
+		return new FieldsView(this);
+	}
+
+	public TransformView transform() {
+		return transformView;
+	}
+
+	public LongGrid sub(final Point2D<Integer> topLeft, final Point2D<Integer> bottomRight) {
+		final var offsetY = Math.max(topLeft.getY(), 0);
+		final var offsetX = Math.max(topLeft.getX(), 0);
+		final var limitY = Math.min(bottomRight.getY(), height - 1);
+		final var limitX = Math.min(bottomRight.getX(), width - 1);
+		final var result = create(limitY - offsetY + 1, limitX - offsetX + 1);
+		for (var y = offsetY; y <= limitY; y++) {
+			System.arraycopy(data, index(offsetX, y), result.data, result.index(0, y - offsetY), result.width);
+		}
+		return result;
+	}
+
+	/**
+	 * Number of cells with the given value.
+	 */
+	public long count(final long value) {
+		return GridKernels.count(data, value);
+	}
+
+	public void fill(final long value) {
+		Arrays.fill(data, value);
+		rehash();
+	}
+
+	/**
+	 * Enables the rolling (Zobrist) hash, which is maintained on every {@link #setValue(int, int, long)} from now
+	 * on, so {@link #rollingHash()} is O(1). Useful for cycle detection of simulations.
+	 */
+	public void enableHashing() {
+		hashing = true;
+		hash = computeHash();
+	}
+
+	/**
+	 * 64-bit hash of the current content; O(1) if {@link #enableHashing() enabled}, otherwise O(size).
+	 */
+	public long rollingHash() {
+		return hashing ? hash : computeHash();
+	}
+
+	private long computeHash() {
+		var result = 0L;
+		for (var i = 0; i < data.length; i++) {
+			result ^= GridHashing.cell(i, data[i]);
+		}
+		return result;
+	}
+
+	void rehash() {
+		if (hashing) {
+			hash = computeHash();
+		}
+	}
+
+	/**
+	 * Compact copy of the current content (one flat array), see {@link #restore(Snapshot)}.
+	 */
+	public Snapshot snapshot() {
+		return new Snapshot(width, data.clone(), rollingHash());
+	}
+
+	/**
+	 * Restores the content of a snapshot of a grid with the same dimensions.
+	 */
+	public void restore(final Snapshot snapshot) {
+		if (snapshot.width != width || snapshot.cells.length != data.length) {
+			throw new IllegalArgumentException("snapshot dimension does not match");
+		}
+		System.arraycopy(snapshot.cells, 0, data, 0, data.length);
+		if (hashing) {
+			hash = snapshot.hash;
+		}
+	}
+
+	/**
+	 * Immutable content of a grid, comparable by value.
+	 */
+	public static final class Snapshot {
+
+		private final int width;
+		private final long[] cells;
+		private final long hash;
+
+		private Snapshot(final int width, final long[] cells, final long hash) {
+			this.width = width;
+			this.cells = cells;
+			this.hash = hash;
+		}
+
+		public long rollingHash() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(final Object o) {
+			if (this == o) return true;
+			if (!(o instanceof Snapshot other)) return false;
+			return hash == other.hash && width == other.width && Arrays.equals(cells, other.cells);
+		}
+
+		@Override
+		public int hashCode() {
+			return Long.hashCode(hash);
+		}
+
+	}
+
+	public int getHeight() {
+		return height;
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	public int size() {
+		return data.length;
+	}
+
+	public static class FieldsView {
+
+		public record Field(Point2D<Integer> pos, long value) {
+		}
+
+		private final LongGrid grid;
+
+		public FieldsView(final LongGrid grid) {
+			this.grid = grid;
+		}
+
+		public Stream<Field> stream() {
+			return IntStream
+					.range(0, grid.height)
+					.boxed()
+					.flatMap(this::row);
+		}
+
+		public Stream<Field> row(final int searchY) {
+			final var y = floorMod(searchY, grid.height);
+			return IntStream
+					.range(0, grid.width)
+					.mapToObj(x -> new Field(Point2D.create(x, y), grid.data[grid.index(x, y)]));
+		}
+
+		public void forEach(final Consumer<Field> consumer) {
+			stream().forEach(consumer);
+		}
+
+		/**
+		 * Visits all cells row by row without allocating a point or field per cell.
+		 */
+		public void forEachCell(final CellConsumer consumer) {
+			for (var y = 0; y < grid.height; y++) {
+				forEachCellInRow(y, consumer);
+			}
+		}
+
+		/**
+		 * Visits all cells with rows distributed over the common pool; the consumer must be thread-safe.
+		 */
+		public void forEachCellParallel(final CellConsumer consumer) {
+			IntStream.range(0, grid.height)
+					 .parallel()
+					 .forEach(y -> forEachCellInRow(y, consumer));
+		}
+
+		private void forEachCellInRow(final int y, final CellConsumer consumer) {
+			final var offset = y * grid.width;
+			for (var x = 0; x < grid.width; x++) {
+				consumer.accept(x, y, grid.data[offset + x]);
+			}
+		}
+
+		public Stream<Point2D<Integer>> getAdjacents4(final Point2D<Integer> p) {
+			return p.getAdjacents4()
+					.filter(grid::hasValue);
+		}
+
+		/**
+		 * Cluster of the given field, see {@link GridTraversal#floodFill}.
+		 *
+		 * @param filter whether a field belongs to the cluster
+		 */
+		public Stream<Point2D<Integer>> getCluster4(final Point2D<Integer> p,
+													final Predicate<Field> filter) {
+			final var width = grid.width;
+			return GridTraversal
+					.floodFill(
+							width,
+							grid.height,
+							p.getX(),
+							p.getY(),
+							GridTraversal.Neighborhood.FOUR,
+							(x, y) -> filter.test(new Field(Point2D.create(x, y), grid.data[grid.index(x, y)]))
+					)
+					.stream()
+					.mapToObj(i -> Point2D.create(i % width, i / width));
+		}
+
+		/**
+		 * Labels all clusters at once, see {@link GridTraversal#labelComponents}.
+		 *
+		 * @param connected whether two neighbouring values belong to the same cluster
+		 */
+		public GridTraversal.Components getClusters4(final BiPredicate<Long, Long> connected) {
+			return GridTraversal.labelComponents(
+					grid.width,
+					grid.height,
+					GridTraversal.Neighborhood.FOUR,
+					(_, _) -> true,
+					(x1, y1, x2, y2) -> connected.test(grid.data[grid.index(x1, y1)], grid.data[grid.index(x2, y2)])
+			);
+		}
+
+		/**
+		 * Labels all clusters of equal neighbouring values at once, without boxing.
+		 */
+		public GridTraversal.Components getClusters4() {
+			return GridTraversal.labelComponents(
+					grid.width,
+					grid.height,
+					GridTraversal.Neighborhood.FOUR,
+					(_, _) -> true,
+					(x1, y1, x2, y2) -> grid.data[grid.index(x1, y1)] == grid.data[grid.index(x2, y2)]
+			);
+		}
+
+		public Stream<Point2D<Integer>> getAdjacents8(final Point2D<Integer> p) {
+			return p.getAdjacents8()
+					.filter(grid::hasValue);
+		}
+
+		/**
+		 * Allocation-free variant of {@link #getAdjacents4(Point2D)} for packed coordinates.
+		 */
+		public void forEachAdjacent4(final long p, final LongConsumer consumer) {
+			acceptIfPresent(PackedPoint2D.up(p), consumer);
+			acceptIfPresent(PackedPoint2D.right(p), consumer);
+			acceptIfPresent(PackedPoint2D.down(p), consumer);
+			acceptIfPresent(PackedPoint2D.left(p), consumer);
+		}
+
+		/**
+		 * Allocation-free variant of {@link #getAdjacents8(Point2D)} for packed coordinates.
+		 */
+		public void forEachAdjacent8(final long p, final LongConsumer consumer) {
+			acceptIfPresent(PackedPoint2D.up(p), consumer);
+			acceptIfPresent(PackedPoint2D.upRight(p), consumer);
+			acceptIfPresent(PackedPoint2D.right(p), consumer);
+			acceptIfPresent(PackedPoint2D.downRight(p), consumer);
+			acceptIfPresent(PackedPoint2D.down(p), consumer);
+			acceptIfPresent(PackedPoint2D.downLeft(p), consumer);
+			acceptIfPresent(PackedPoint2D.left(p), consumer);
+			acceptIfPresent(PackedPoint2D.upLeft(p), consumer);
+		}
+
+		private void acceptIfPresent(final long p, final LongConsumer consumer) {
+			if (grid.hasValue(p)) {
+				consumer.accept(p);
+			}
+		}
+
+		public Stream<Point2D<Integer>> topEdge() {
+			return IntStream.range(0, grid.width)
+							.mapToObj(x -> Point2D.create(x, 0));
+		}
+
+		public Stream<Point2D<Integer>> bottomEdge() {
+			final var y = grid.height - 1;
+			return IntStream.range(0, grid.width)
+							.mapToObj(x -> Point2D.create(x, y));
+		}
+
+		public Stream<Point2D<Integer>> leftEdge() {
+			return IntStream.range(0, grid.height)
+							.mapToObj(y -> Point2D.create(0, y));
+		}
+
+		public Stream<Point2D<Integer>> rightEdge() {
+			final var x = grid.width - 1;
+			return IntStream.range(0, grid.height)
+							.mapToObj(y -> Point2D.create(x, y));
+		}
+
+	}
+
+	@FunctionalInterface
+	public interface CellConsumer {
+
+		void accept(int x, int y, long value);
+
+	}
+
+	@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+	public static class TransformView {
+
+		private final LongGrid grid;
+
+		@SuppressWarnings("UnusedReturnValue")
+		public TransformView rotateRight() {
+			return rotateRight(1);
+		}
+
+		/**
+		 * Rotation by whole-array passes: transposition plus a flip, or a full reversal for 180°.
+		 */
+		public TransformView rotateRight(final int iterations) {
+			switch (floorMod(iterations, 4)) {
+				case 1 -> {
+					transposeData();
+					GridKernels.reverseColumns(grid.data, grid.width);
+				}
+				case 2 -> GridKernels.reverseRows(grid.data, grid.data.length);
+				case 3 -> {
+					transposeData();
+					GridKernels.reverseRows(grid.data, grid.width);
+				}
+				default -> {
+					return this;
+				}
+			}
+			grid.rehash();
+			return this;
+		}
+
+		@SuppressWarnings("UnusedReturnValue")
+		public TransformView rotateLeft() {
+			return rotateLeft(1);
+		}
+
+		public TransformView rotateLeft(final int iterations) {
+			return rotateRight(-iterations);
+		}
+
+		/**
+		 * Mirrors along the main diagonal; swaps width and height.
+		 */
+		public TransformView transpose() {
+			transposeData();
+			grid.rehash();
+			return this;
+		}
+
+		/**
+		 * Mirrors left to right.
+		 */
+		public TransformView flipHorizontal() {
+			GridKernels.reverseRows(grid.data, grid.width);
+			grid.rehash();
+			return this;
+		}
+
+		/**
+		 * Mirrors top to bottom.
+		 */
+		public TransformView flipVertical() {
+			GridKernels.reverseColumns(grid.data, grid.width);
+			grid.rehash();
+			return this;
+		}
+
+		private void transposeData() {
+			if (grid.height == grid.width) {
+				GridKernels.transpose(grid.data, grid.width);
+				return;
+			}
+			final var target = new long[grid.data.length];
+			GridKernels.transpose(grid.data, target, grid.height, grid.width);
+			System.arraycopy(target, 0, grid.data, 0, target.length);
+			final var height = grid.height;
+			grid.height = grid.width;
+			grid.width = height;
+		}
+
+	}
+
+	public String toString(final BiFunction<Point2D<Integer>, Long, String> renderer) {
+
+		final var sb = new StringBuilder();
+
+		for (var y = 0; y < height; y++) {
+			for (var x = 0; x < width; x++) {
+				sb.append(renderer.apply(Point2D.create(x, y), data[index(x, y)]));
+			}
+			sb.append("\n");
+		}
+
+		return sb.toString();
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+		LongGrid longGrid = (LongGrid) o;
+		return width == longGrid.width && Arrays.equals(data, longGrid.data);
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * width + Arrays.hashCode(data);
+	}
+
+}
@@ -0,0 +1,312 @@
+package de.knallisworld.aoc2025.support.geo.grid2;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Hash array mapped trie (HAMT) with structural sharing, behind a regular mutable {@link Map} API.
+ * <p>
+ * {@link #copy()} is O(1): both maps share all nodes afterward. Every node remembers its owner (an edit token);
+ * a map mutates the nodes it owns in place and copies shared nodes on the first write (path copying), so a write
+ * costs O(log32 n) at most. Used by {@link DynGrid} for cheap snapshots. Keys must not be null.
+ */
+final class PersistentHashMap<K, V> extends AbstractMap<K, V> {
+
+	private static final int BITS = 5;
+	private static final int MASK = (1 << BITS) - 1;
+	private static final int MAX_SHIFT = 30;
+	private static final Object ABSENT = new Object();
+
+	/**
+	 * A node stores up to 32 slots, indexed by a bitmap over 5 hash bits. A slot is a (key, value) pair, or
+	 * (null, child node). Below {@link #MAX_SHIFT}, hashes are exhausted: such a node is a plain list of colliding
+	 * pairs and its bitmap is unused.
+	 */
+	private static final class Node {
+
+		private final Object owner;
+		private int bitmap;
+		private @Nullable Object[] slots;
+
+		private Node(final Object owner, final int bitmap, final @Nullable Object[] slots) {
+			this.owner = owner;
+			this.bitmap = bitmap;
+			this.slots = slots;
+		}
+
+		private Node editable(final Object editor) {
+			return owner == editor ? this : new Node(editor, bitmap, slots.clone());
+		}
+
+	}
+
+	private Object owner = new Object();
+	private Node root = new Node(owner, 0, new Object[0]);
+	private int size;
+
+	PersistentHashMap() {
+	}
+
+	PersistentHashMap(final Map<? extends K, ? extends V> from) {
+		putAll(from);
+	}
+
+	/**
+	 * O(1) copy, sharing all nodes with this map.
+	 */
+	PersistentHashMap<K, V> copy() {
+		final var copy = new PersistentHashMap<K, V>();
+		copy.root = root;
+		copy.size = size;
+		// neither map owns the current nodes anymore
+		owner = new Object();
+		return copy;
+	}
+
+	private static int hash(final Object key) {
+		final var h = key.hashCode();
+		return h ^ (h >>> 16);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean containsKey(final Object key) {
+		return lookup(key) != ABSENT;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public @Nullable V get(final Object key) {
+		final var value = lookup(key);
+		return value == ABSENT ? null : (V) value;
+	}
+
+	/**
+	 * @return the value of the key, {@link #ABSENT} if there is none (values may be null)
+	 */
+	private @Nullable Object lookup(final Object key) {
+		final var hash = hash(key);
+		var node = root;
+		for (var shift = 0; ; shift += BITS) {
+			if (shift > MAX_SHIFT) {
+				for (var i = 0; i < node.slots.length; i += 2) {
+					if (key.equals(node.slots[i])) {
+						return node.slots[i + 1];
+					}
+				}
+				return ABSENT;
+			}
+			final var bit = 1 << ((hash >>> shift) & MASK);
+			if ((node.bitmap & bit) == 0) {
+				return ABSENT;
+			}
+			final var index = 2 * Integer.bitCount(node.bitmap & (bit - 1));
+			final var slotKey = node.slots[index];
+			if (slotKey == null) {
+				node = (Node) Objects.requireNonNull(node.slots[index + 1]);
+				continue;
+			}
+			return key.equals(slotKey) ? node.slots[index + 1] : ABSENT;
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public @Nullable V put(final K key, final @Nullable V value) {
+		final var hash = hash(key);
+		root = root.editable(owner);
+		var node = root;
+		for (var shift = 0; ; shift += BITS) {
+			if (shift > MAX_SHIFT) {
+				for (var i = 0; i < node.slots.length; i += 2) {
+					if (key.equals(node.slots[i])) {
+						final var previous = node.slots[i + 1];
+						node.slots[i + 1] = value;
+						return (V) previous;
+					}
+				}
+				node.slots = Arrays.copyOf(node.slots, node.slots.length + 2);
+				node.slots[node.slots.length - 2] = key;
+				node.slots[node.slots.length - 1] = value;
+				size++;
+				return null;
+			}
+			final var bit = 1 << ((hash >>> shift) & MASK);
+			final var index = 2 * Integer.bitCount(node.bitmap & (bit - 1));
+			if ((node.bitmap & bit) == 0) {
+				final var slots = new Object[node.slots.length + 2];
+				System.arraycopy(node.slots, 0, slots, 0, index);
+				slots[index] = key;
+				slots[index + 1] = value;
+				System.arraycopy(node.slots, index, slots, index + 2, node.slots.length - index);
+				node.slots = slots;
+				node.bitmap |= bit;
+				size++;
+				return null;
+			}
+			final var slotKey = node.slots[index];
+			if (slotKey == null) {
+				final var child = ((Node) Objects.requireNonNull(node.slots[index + 1])).editable(owner);
+				node.slots[index + 1] = child;
+				node = child;
+				continue;
+			}
+			if (key.equals(slotKey)) {
+				final var previous = node.slots[index + 1];
+				node.slots[index + 1] = value;
+				return (V) previous;
+			}
+			// split: push the existing pair one level down, then continue the insertion there
+			node.slots[index] = null;
+			node.slots[index + 1] = single(slotKey, node.slots[index + 1], hash(slotKey), shift + BITS);
+			node = (Node) node.slots[index + 1];
+		}
+	}
+
+	private Node single(final Object key, final @Nullable Object value, final int hash, final int shift) {
+		if (shift > MAX_SHIFT) {
+			return new Node(owner, 0, new Object[]{key, value});
+		}
+		return new Node(owner, 1 << ((hash >>> shift) & MASK), new Object[]{key, value});
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public @Nullable V remove(final Object key) {
+		if (!containsKey(key)) {
+			return null;
+		}
+		final var hash = hash(key);
+		root = root.editable(owner);
+		var node = root;
+		for (var shift = 0; ; shift += BITS) {
+			if (shift > MAX_SHIFT) {
+				for (var i = 0; i < node.slots.length; i += 2) {
+					if (key.equals(node.slots[i])) {
+						final var previous = node.slots[i + 1];
+						node.slots = removePair(node.slots, i);
+						size--;
+						return (V) previous;
+					}
+				}
+				throw new IllegalStateException("unreachable");
+			}
+			final var bit = 1 << ((hash >>> shift) & MASK);
+			final var index = 2 * Integer.bitCount(node.bitmap & (bit - 1));
+			final var slotKey = node.slots[index];
+			if (slotKey == null) {
+				final var child = ((Node) Objects.requireNonNull(node.slots[index + 1])).editable(owner);
+				node.slots[index + 1] = child;
+				node = child;
+				continue;
+			}
+			// empty nodes are left in place, they are skipped by lookups and iteration
+			final var previous = node.slots[index + 1];
+			node.slots = removePair(node.slots, index);
+			node.bitmap &= ~bit;
+			size--;
+			return (V) previous;
+		}
+	}
+
+	private static @Nullable Object[] removePair(final @Nullable Object[] slots, final int index) {
+		final var result = new Object[slots.length - 2];
+		System.arraycopy(slots, 0, result, 0, index);
+		System.arraycopy(slots, index + 2, result, index, slots.length - index - 2);
+		return result;
+	}
+
+	@Override
+	public void clear() {
+		owner = new Object();
+		root = new Node(owner, 0, new Object[0]);
+		size = 0;
+	}
+
+	@Override
+	public Set<Entry<K, V>> entrySet() {
+		return new AbstractSet<>() {
+
+			@Override
+			public Iterator<Entry<K, V>> iterator() {
+				return new EntryIterator();
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+
+		};
+	}
+
+	private final class EntryIterator implements Iterator<Entry<K, V>> {
+
+		private final Deque<@Nullable Object[]> stack = new ArrayDeque<>();
+		private final Deque<Integer> positions = new ArrayDeque<>();
+		private @Nullable Entry<K, V> next;
+		private @Nullable K last;
+
+		private EntryIterator() {
+			stack.push(root.slots);
+			positions.push(0);
+			advance();
+		}
+
+		@SuppressWarnings("unchecked")
+		private void advance() {
+			next = null;
+			while (!stack.isEmpty()) {
+				final var slots = stack.peek();
+				final int position = positions.pop();
+				if (position >= slots.length) {
+					stack.pop();
+					continue;
+				}
+				positions.push(position + 2);
+				final var key = slots[position];
+				if (key == null) {
+					stack.push(((Node) Objects.requireNonNull(slots[position + 1])).slots);
+					positions.push(0);
+					continue;
+				}
+				next = new SimpleImmutableEntry<>((K) key, (V) slots[position + 1]);
+				return;
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next != null;
+		}
+
+		@Override
+		public Entry<K, V> next() {
+			final var result = next;
+			if (result == null) {
+				throw new NoSuchElementException();
+			}
+			last = result.getKey();
+			advance();
+			return result;
+		}
+
+		@Override
+		public void remove() {
+			if (last == null) {
+				throw new IllegalStateException();
+			}
+			// a new edit token forces path copying, so the slot arrays this iterator walks stay untouched
+			owner = new Object();
+			PersistentHashMap.this.remove(last);
+			last = null;
+		}
+
+	}
+
+}
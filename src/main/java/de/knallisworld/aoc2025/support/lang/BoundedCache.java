@@ -0,0 +1,210 @@
+package de.knallisworld.aoc2025.support.lang;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Size, weight and/or time bounded cache backing {@link Memoization} when {@link MemoizationOptions#isBounded()}.
+ * <p>
+ * An access ordered {@link LinkedHashMap}, so the eldest entry is always the least recently used one. With
+ * {@code expireAfterWrite}, writes are queued additionally in write order, so that expired entries are purged on every
+ * write even if their keys are never requested again. Not thread-safe.
+ */
+final class BoundedCache<K, V> {
+
+	/**
+	 * @param value     cached value (may be null if empty values are included)
+	 * @param weight    weight according to the weigher, 1 otherwise
+	 * @param writtenAt ticker value at the time of the write
+	 */
+	record Entry<V>(@Nullable V value, long weight, long writtenAt) {
+	}
+
+	/**
+	 * Write of an entry; stale if the key has been written again or removed since.
+	 */
+	private record Write<K, V>(K key, Entry<V> entry) {
+	}
+
+	private final LinkedHashMap<K, Entry<V>> map;
+	private final long maximumSize;
+	private final long maximumWeight;
+	private final MemoizationOptions.@Nullable Weigher weigher;
+	private final long expireAfterWriteNanos;
+	private final @Nullable FrequencySketch sketch;
+	private final LongSupplier ticker;
+	private final ArrayDeque<Write<K, V>> writes = new ArrayDeque<>();
+
+	private long totalWeight;
+	private long evictions;
+
+	BoundedCache(final MemoizationOptions options) {
+		this(options, System::nanoTime);
+	}
+
+	BoundedCache(final MemoizationOptions options, final LongSupplier ticker) {
+		this.map = new LinkedHashMap<>(16, 0.75f, true);
+		this.maximumSize = options.getMaximumSize();
+		this.maximumWeight = options.getMaximumWeight();
+		this.weigher = options.getWeigher();
+		if (maximumWeight >= 0 && weigher == null) {
+			throw new IllegalArgumentException("maximumWeight requires a weigher");
+		}
+		final var expireAfterWrite = options.getExpireAfterWrite();
+		this.expireAfterWriteNanos = expireAfterWrite == null ? -1 : expireAfterWrite.toNanos();
+		if (options.getEvictionPolicy() == MemoizationOptions.EvictionPolicy.TINY_LFU) {
+			this.sketch = new FrequencySketch(maximumSize >= 0 ? maximumSize : Math.min(options.getExpectedSize(), 1 << 16));
+		} else {
+			this.sketch = null;
+		}
+		this.ticker = ticker;
+	}
+
+	/**
+	 * @return the entry, or null if absent or expired
+	 */
+	@Nullable Entry<V> get(final K key) {
+		if (sketch != null) {
+			sketch.increment(key);
+		}
+		final var entry = map.get(key);
+		if (entry == null) {
+			return null;
+		}
+		if (expireAfterWriteNanos >= 0 && ticker.getAsLong() - entry.writtenAt() >= expireAfterWriteNanos) {
+			map.remove(key);
+			totalWeight -= entry.weight();
+			evictions++;
+			return null;
+		}
+		return entry;
+	}
+
+	void put(final K key, final @Nullable V value) {
+		final var weight = weigher != null ? weigher.weigh(key, value) : 1;
+		if (weight < 0) {
+			throw new IllegalArgumentException("negative weight");
+		}
+		final var now = ticker.getAsLong();
+		purgeExpired(now);
+		// containsKey does not touch the access order
+		if (sketch != null && !map.containsKey(key) && exceeds(map.size() + 1, totalWeight + weight) && !map.isEmpty()) {
+			final var victim = map.firstEntry().getKey();
+			// admission: a new candidate must be more popular than the entry it would replace; a rejection is not an
+			// eviction, as nothing has been cached
+			if (sketch.frequency(key) <= sketch.frequency(victim)) {
+				return;
+			}
+		}
+		final var previous = map.remove(key);
+		if (previous != null) {
+			totalWeight -= previous.weight();
+		}
+		final var entry = new Entry<>(value, weight, now);
+		map.put(key, entry);
+		totalWeight += weight;
+		if (expireAfterWriteNanos >= 0) {
+			writes.addLast(new Write<>(key, entry));
+		}
+		while (exceeds(map.size(), totalWeight)) {
+			// may also evict the new entry itself, if it alone is heavier than the maximum
+			final var eldest = map.pollFirstEntry();
+			totalWeight -= eldest.getValue().weight();
+			evictions++;
+		}
+	}
+
+	/**
+	 * Removes all expired entries, oldest write first.
+	 */
+	private void purgeExpired(final long now) {
+		for (var write = writes.peekFirst();
+			 write != null && now - write.entry().writtenAt() >= expireAfterWriteNanos;
+			 write = writes.peekFirst()) {
+			writes.pollFirst();
+			// only if still the current entry of the key; remove(key, value) does not touch the access order
+			if (map.remove(write.key(), write.entry())) {
+				totalWeight -= write.entry().weight();
+				evictions++;
+			}
+		}
+	}
+
+	private boolean exceeds(final long size, final long weight) {
+		return (maximumSize >= 0 && size > maximumSize) || (maximumWeight >= 0 && weight > maximumWeight);
+	}
+
+	int size() {
+		return map.size();
+	}
+
+	long evictions() {
+		return evictions;
+	}
+
+	/**
+	 * Count-min sketch of 4-bit counters (16 per {@code long}), halved periodically so that the frequencies reflect
+	 * recent history only.
+	 */
+	static final class FrequencySketch {
+
+		private static final long[] SEEDS = {
+				0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L
+		};
+		private static final long RESET_MASK = 0x7777777777777777L;
+
+		private final long[] table;
+		private final int mask;
+		private final long sampleSize;
+		private long additions;
+
+		FrequencySketch(final long expectedSize) {
+			final var slots = (int) Math.min(Long.highestOneBit(Math.max(expectedSize, 16) - 1) << 1, 1 << 24);
+			this.table = new long[slots];
+			this.mask = slots - 1;
+			this.sampleSize = 10L * Math.max(expectedSize, 16);
+		}
+
+		int frequency(final Object key) {
+			final var hash = key.hashCode();
+			var frequency = 15;
+			for (final var seed : SEEDS) {
+				final var mixed = mix(hash, seed);
+				final var slot = (int) (mixed >>> 32) & mask;
+				final var shift = (int) (mixed & 15) << 2;
+				frequency = Math.min(frequency, (int) ((table[slot] >>> shift) & 15));
+			}
+			return frequency;
+		}
+
+		void increment(final Object key) {
+			final var hash = key.hashCode();
+			for (final var seed : SEEDS) {
+				final var mixed = mix(hash, seed);
+				final var slot = (int) (mixed >>> 32) & mask;
+				final var shift = (int) (mixed & 15) << 2;
+				if (((table[slot] >>> shift) & 15) < 15) {
+					table[slot] += 1L << shift;
+				}
+			}
+			if (++additions >= sampleSize) {
+				additions = 0;
+				for (var i = 0; i < table.length; i++) {
+					table[i] = (table[i] >>> 1) & RESET_MASK;
+				}
+			}
+		}
+
+		private static long mix(final int hash, final long seed) {
+			// splitmix64 finalizer
+			var z = (hash + seed) * 0xBF58476D1CE4E5B9L;
+			z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+			return z ^ (z >>> 31);
+		}
+
+	}
+
+}
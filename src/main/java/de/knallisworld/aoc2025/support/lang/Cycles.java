@@ -0,0 +1,193 @@
+package de.knallisworld.aoc2025.support.lang;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+import java.util.function.LongUnaryOperator;
+import java.util.function.UnaryOperator;
+
+/**
+ * Cycle detection of iterated functions and simulations, e.g. to skip billions of iterations once the state repeats.
+ * <ul>
+ *     <li>Floyd/Brent: for pure step functions on immutable states, O(1) memory.</li>
+ *     <li>Fingerprints: for mutable simulations (e.g. a grid with a rolling hash), one {@code long} per step.
+ *     Equal fingerprints are taken as equal states, so the fingerprint should be a strong 64-bit hash.</li>
+ * </ul>
+ */
+public class Cycles {
+
+	/**
+	 * The sequence {@code x0, x1, ...} enters a cycle of {@code length} at step {@code start}:
+	 * {@code x(start + length) = x(start)}.
+	 */
+	public record Cycle(long start, long length) {
+
+		/**
+		 * The smallest step whose state equals the state of the given step.
+		 */
+		public long equivalent(final long step) {
+			if (step < start) {
+				return step;
+			}
+			return start + (step - start) % length;
+		}
+
+	}
+
+	/**
+	 * Floyd's tortoise and hare.
+	 */
+	public static <T> Cycle floyd(final T initial, final UnaryOperator<T> step) {
+		var tortoise = step.apply(initial);
+		var hare = step.apply(step.apply(initial));
+		while (!Objects.equals(tortoise, hare)) {
+			tortoise = step.apply(tortoise);
+			hare = step.apply(step.apply(hare));
+		}
+		var start = 0L;
+		tortoise = initial;
+		while (!Objects.equals(tortoise, hare)) {
+			tortoise = step.apply(tortoise);
+			hare = step.apply(hare);
+			start++;
+		}
+		var length = 1L;
+		hare = step.apply(tortoise);
+		while (!Objects.equals(tortoise, hare)) {
+			hare = step.apply(hare);
+			length++;
+		}
+		return new Cycle(start, length);
+	}
+
+	/**
+	 * Brent's algorithm, usually fewer step evaluations than {@link #floyd(Object, UnaryOperator)}.
+	 */
+	public static <T> Cycle brent(final T initial, final UnaryOperator<T> step) {
+		var power = 1L;
+		var length = 1L;
+		var tortoise = initial;
+		var hare = step.apply(initial);
+		while (!Objects.equals(tortoise, hare)) {
+			if (power == length) {
+				tortoise = hare;
+				power <<= 1;
+				length = 0;
+			}
+			hare = step.apply(hare);
+			length++;
+		}
+		tortoise = initial;
+		hare = initial;
+		for (var i = 0L; i < length; i++) {
+			hare = step.apply(hare);
+		}
+		var start = 0L;
+		while (!Objects.equals(tortoise, hare)) {
+			tortoise = step.apply(tortoise);
+			hare = step.apply(hare);
+			start++;
+		}
+		return new Cycle(start, length);
+	}
+
+	/**
+	 * Brent's algorithm on primitive states, no allocation at all.
+	 */
+	public static Cycle brent(final long initial, final LongUnaryOperator step) {
+		var power = 1L;
+		var length = 1L;
+		var tortoise = initial;
+		var hare = step.applyAsLong(initial);
+		while (tortoise != hare) {
+			if (power == length) {
+				tortoise = hare;
+				power <<= 1;
+				length = 0;
+			}
+			hare = step.applyAsLong(hare);
+			length++;
+		}
+		tortoise = initial;
+		hare = initial;
+		for (var i = 0L; i < length; i++) {
+			hare = step.applyAsLong(hare);
+		}
+		var start = 0L;
+		while (tortoise != hare) {
+			tortoise = step.applyAsLong(tortoise);
+			hare = step.applyAsLong(hare);
+			start++;
+		}
+		return new Cycle(start, length);
+	}
+
+	/**
+	 * Cycle detection on the given states by remembering the first step of every state (hash map).
+	 * Use this if equality is cheap but the step function is expensive, as each step is evaluated only once.
+	 */
+	public static <T> Cycle hashed(final T initial, final UnaryOperator<T> step) {
+		final var seen = new HashMap<T, Long>();
+		var state = initial;
+		for (var i = 0L; ; i++) {
+			final var first = seen.putIfAbsent(state, i);
+			if (first != null) {
+				return new Cycle(first, i - first);
+			}
+			state = step.apply(state);
+		}
+	}
+
+	/**
+	 * Cycle detection of a mutable simulation: performs steps until a fingerprint repeats.
+	 * The simulation is left at step {@code start + length} of the returned cycle.
+	 *
+	 * @param step        advances the simulation by one step
+	 * @param fingerprint 64-bit hash of the current state, e.g. a grid's rolling hash
+	 */
+	public static Cycle detect(final Runnable step, final LongSupplier fingerprint) {
+		final var seen = new LongLongTable(1024);
+		for (var i = 0L; ; i++) {
+			final var hash = fingerprint.getAsLong();
+			final var index = seen.indexOf(hash);
+			if (index >= 0) {
+				final var first = seen.valueAt(index);
+				return new Cycle(first, i - first);
+			}
+			seen.put(hash, i);
+			step.run();
+		}
+	}
+
+	/**
+	 * Advances a mutable simulation to the given step (counted from its current state), skipping all full cycles
+	 * once one is detected. Afterward, the simulation's state equals the state at {@code steps}.
+	 *
+	 * @return the detected cycle, or null if {@code steps} was reached before any state repeated
+	 */
+	public static @Nullable Cycle fastForward(final long steps,
+											 final Runnable step,
+											 final LongSupplier fingerprint) {
+		final var seen = new LongLongTable(1024);
+		for (var i = 0L; i < steps; i++) {
+			final var hash = fingerprint.getAsLong();
+			final var index = seen.indexOf(hash);
+			if (index >= 0) {
+				final var first = seen.valueAt(index);
+				final var cycle = new Cycle(first, i - first);
+				// the current state equals the one at step i, so only the rest of the last partial cycle is left
+				final var remaining = (steps - i) % cycle.length();
+				for (var j = 0L; j < remaining; j++) {
+					step.run();
+				}
+				return cycle;
+			}
+			seen.put(hash, i);
+			step.run();
+		}
+		return null;
+	}
+
+}
@@ -0,0 +1,11 @@
+package de.knallisworld.aoc2025.support.lang;
+
+/**
+ * Primitive {@code (int, int) -> long} function, e.g. a DP over two indexes.
+ */
+@FunctionalInterface
+public interface IntIntToLongFunction {
+
+	long applyAsLong(int a, int b);
+
+}
@@ -0,0 +1,118 @@
+package de.knallisworld.aoc2025.support.lang;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing {@code long -> long} hash table with linear probing, no boxing and no entry objects.
+ * <p>
+ * One key value ({@link #FREE}) marks free slots, that key itself is stored aside. Not thread-safe.
+ */
+final class LongLongTable {
+
+	private static final long FREE = Long.MIN_VALUE;
+
+	private long[] keys;
+	private long[] values;
+	private int mask;
+	private int size;
+	private boolean hasFreeKey;
+	private long freeKeyValue;
+
+	LongLongTable(final int expectedSize) {
+		final var capacity = Integer.highestOneBit(Math.max(expectedSize, 8) * 2 - 1) << 1;
+		this.keys = new long[capacity];
+		this.values = new long[capacity];
+		this.mask = capacity - 1;
+		Arrays.fill(keys, FREE);
+	}
+
+	/**
+	 * @return slot of the key ({@code >= 0}, {@code Integer.MAX_VALUE} for the free key), or a negative value if absent
+	 */
+	int indexOf(final long key) {
+		if (key == FREE) {
+			return hasFreeKey ? Integer.MAX_VALUE : -1;
+		}
+		var slot = slot(key);
+		while (true) {
+			final var current = keys[slot];
+			if (current == key) {
+				return slot;
+			}
+			if (current == FREE) {
+				return -1;
+			}
+			slot = (slot + 1) & mask;
+		}
+	}
+
+	/**
+	 * @param index result of {@link #indexOf(long)}, only valid until the next {@link #put(long, long)}
+	 */
+	long valueAt(final int index) {
+		return index == Integer.MAX_VALUE ? freeKeyValue : values[index];
+	}
+
+	void put(final long key, final long value) {
+		if (key == FREE) {
+			if (!hasFreeKey) {
+				size++;
+			}
+			hasFreeKey = true;
+			freeKeyValue = value;
+			return;
+		}
+		var slot = slot(key);
+		while (true) {
+			final var current = keys[slot];
+			if (current == key) {
+				values[slot] = value;
+				return;
+			}
+			if (current == FREE) {
+				keys[slot] = key;
+				values[slot] = value;
+				// load factor 0.5 keeps the probe sequences short
+				if (++size * 2 > keys.length) {
+					rehash();
+				}
+				return;
+			}
+			slot = (slot + 1) & mask;
+		}
+	}
+
+	int size() {
+		return size;
+	}
+
+	private int slot(final long key) {
+		// murmur3 finalizer, sequential keys must not end up in sequential slots
+		var h = key;
+		h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+		h = (h ^ (h >>> 33)) * 0xC4CEB9FE1A85EC53L;
+		return (int) (h ^ (h >>> 33)) & mask;
+	}
+
+	private void rehash() {
+		final var oldKeys = keys;
+		final var oldValues = values;
+		keys = new long[oldKeys.length << 1];
+		values = new long[oldKeys.length << 1];
+		mask = keys.length - 1;
+		Arrays.fill(keys, FREE);
+		for (var i = 0; i < oldKeys.length; i++) {
+			final var key = oldKeys[i];
+			if (key == FREE) {
+				continue;
+			}
+			var slot = slot(key);
+			while (keys[slot] != FREE) {
+				slot = (slot + 1) & mask;
+			}
+			keys[slot] = key;
+			values[slot] = oldValues[i];
+		}
+	}
+
+}
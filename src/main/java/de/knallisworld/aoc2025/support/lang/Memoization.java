@@ -2,7 +2,15 @@ package de.knallisworld.aoc2025.support.lang;
 
 import org.jspecify.annotations.Nullable;
 
-import java.util.*;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -10,7 +18,19 @@ import static de.knallisworld.aoc2025.support.lang.MemoizationOptions.withDefaul
 
 public class Memoization {
 
-	public static <I, O> Function<I, @Nullable O> memoize(final Function<I, @Nullable O> loader) {
+	/**
+	 * Memoized function as returned by {@link #memoize(Function, Consumer)}.
+	 */
+	public interface MemoizedFunction<I, O> extends Function<I, @Nullable O> {
+
+		/**
+		 * Counters of this function, only present if enabled via {@link MemoizationOptions#recordStats(String)}.
+		 */
+		Optional<MemoizationStats> stats();
+
+	}
+
+	public static <I, O> MemoizedFunction<I, O> memoize(final Function<I, @Nullable O> loader) {
 		return memoize(loader, withDefault());
 	}
 
@@ -22,15 +42,27 @@ public class Memoization {
 	 * @param loader actual loading function
 	 * @param <I>    input type
 	 * @param <O>    output type
-	 * @return curried function
+	 * @return curried function, which exposes its stats if recorded
 	 */
-	public static <I, O> Function<I, @Nullable O> memoize(final Function<I, @Nullable O> loader,
-														  final Consumer<MemoizationOptions.MemoizationOptionsBuilder> configurer) {
-		final Function<I, Optional<O>> memoize = memoize0(
+	public static <I, O> MemoizedFunction<I, O> memoize(final Function<I, @Nullable O> loader,
+														final Consumer<MemoizationOptions.MemoizationOptionsBuilder> configurer) {
+		final MemoizationFunction<I, O> memoize = memoize0(
 				input -> Optional.ofNullable(loader.apply(input)),
 				configurer
 		);
-		return input -> memoize.apply(input).orElse(null);
+		return new MemoizedFunction<>() {
+
+			@Override
+			public @Nullable O apply(final I input) {
+				return memoize.apply(input).orElse(null);
+			}
+
+			@Override
+			public Optional<MemoizationStats> stats() {
+				return memoize.stats();
+			}
+
+		};
 	}
 
 	/**
@@ -49,21 +81,42 @@ public class Memoization {
 		configurer.accept(optionsBuilder);
 		final var options = optionsBuilder.build();
 
+		if (options.isRecordStats()) {
+			final var recorder = StatsRecorder.register(options.getName());
+			return recorder.counted(memoize1(recorder.timed(loader), options, recorder));
+		}
+		return memoize1(loader, options, null);
+	}
+
+	/**
+	 * Stats of all memoized functions which have been created with {@link MemoizationOptions#recordStats(String)} and
+	 * are still reachable.
+	 */
+	public static List<MemoizationStats> stats() {
+		return StatsRecorder.snapshotAll();
+	}
+
+	private static <I, O> MemoizationFunction<I, O> memoize1(final Function<I, Optional<O>> loader,
+															 final MemoizationOptions options,
+															 final @Nullable StatsRecorder recorder) {
+		if (options.isBounded()) {
+			return memoizeBounded(loader, options, recorder);
+		}
+		if (options.isThreadSafe()) {
+			return memoizeConcurrent(loader, options, recorder);
+		}
+
 		record Item<T>(@Nullable T value) {
 		}
 
 		final Map<I, Item<O>> cache;
-		{
-			Map<I, Item<O>> temp;
-			if (options.getExpectedSize() <= 3) {
-				temp = new LinkedHashMap<>();
-			} else {
-				temp = new HashMap<>();
-			}
-			if (options.isThreadSafe()) {
-				temp = Collections.synchronizedMap(temp);
-			}
-			cache = temp;
+		if (options.getExpectedSize() <= 3) {
+			cache = new LinkedHashMap<>();
+		} else {
+			cache = new HashMap<>();
+		}
+		if (recorder != null) {
+			recorder.bind(cache::size, () -> 0);
 		}
 
 		return input -> {
@@ -74,9 +127,157 @@ public class Memoization {
 			if (output != null || options.isIncludeEmptyValues()) {
 				cache.put(input, new Item<>(output));
 			}
-			return Optional.ofNullable(cache.get(input))
-						   .map(Item::value);
+			return Optional.ofNullable(output);
+		};
+	}
+
+	/**
+	 * Thread-safe variant: every key is loaded exactly once, concurrent callers of the same key wait for the result.
+	 * <p>
+	 * In contrast to {@link ConcurrentHashMap#computeIfAbsent(Object, Function)}, the loader runs outside of any map
+	 * lock, so recursive memoized calls (also on other threads, e.g. forked tasks) are fine. Only a recursion onto
+	 * the very same key fails, because it could never complete. Inputs must not be null.
+	 */
+	private static <I, O> MemoizationFunction<I, O> memoizeConcurrent(final Function<I, Optional<O>> loader,
+																	  final MemoizationOptions options,
+																	  final @Nullable StatsRecorder recorder) {
+		final var cache = new ConcurrentHashMap<I, Loading<O>>(
+				Math.min(options.getExpectedSize(), 64)
+		);
+		if (recorder != null) {
+			recorder.bind(cache::size, () -> 0);
+		}
+
+		return input -> {
+			final var existing = cache.get(input);
+			if (existing != null) {
+				return Optional.ofNullable(existing.await());
+			}
+			final var loading = new Loading<O>();
+			final var witness = cache.putIfAbsent(input, loading);
+			if (witness != null) {
+				return Optional.ofNullable(witness.await());
+			}
+			// this thread has won the race and loads the value, all others are waiting on the future
+			final @Nullable O output;
+			try {
+				output = loader.apply(input).orElse(null);
+			} catch (final RuntimeException | Error e) {
+				// do not cache failures, the next caller will try again
+				cache.remove(input, loading);
+				loading.completeExceptionally(e);
+				throw e;
+			}
+			loading.complete(output);
+			if (output == null && !options.isIncludeEmptyValues()) {
+				cache.remove(input, loading);
+			}
+			return Optional.ofNullable(output);
+		};
+	}
+
+	/**
+	 * Bounded variant, see {@link BoundedCache}. If thread-safe, the cache is guarded by a lock which is never held
+	 * while loading; a key is still loaded only once at a time.
+	 */
+	private static <I, O> MemoizationFunction<I, O> memoizeBounded(final Function<I, Optional<O>> loader,
+																   final MemoizationOptions options,
+																   final @Nullable StatsRecorder recorder) {
+		final var cache = new BoundedCache<I, O>(options);
+		if (recorder != null) {
+			// plain reads of the counters, good enough for reporting
+			recorder.bind(cache::size, cache::evictions);
+		}
+
+		if (!options.isThreadSafe()) {
+			return input -> {
+				final var entry = cache.get(input);
+				if (entry != null) {
+					return Optional.ofNullable(entry.value());
+				}
+				final var output = loader.apply(input).orElse(null);
+				if (output != null || options.isIncludeEmptyValues()) {
+					cache.put(input, output);
+				}
+				return Optional.ofNullable(output);
+			};
+		}
+
+		final var lock = new ReentrantLock();
+		final var inFlight = new ConcurrentHashMap<I, Loading<O>>();
+		final Function<I, BoundedCache.@Nullable Entry<O>> lookup = input -> {
+			lock.lock();
+			try {
+				return cache.get(input);
+			} finally {
+				lock.unlock();
+			}
 		};
+
+		return input -> {
+			var entry = lookup.apply(input);
+			if (entry != null) {
+				return Optional.ofNullable(entry.value());
+			}
+			final var loading = new Loading<O>();
+			final var witness = inFlight.putIfAbsent(input, loading);
+			if (witness != null) {
+				return Optional.ofNullable(witness.await());
+			}
+			try {
+				// another load may have finished between the lookup and the registration
+				entry = lookup.apply(input);
+				final @Nullable O output;
+				if (entry != null) {
+					output = entry.value();
+				} else {
+					output = loader.apply(input).orElse(null);
+					if (output != null || options.isIncludeEmptyValues()) {
+						lock.lock();
+						try {
+							cache.put(input, output);
+						} finally {
+							lock.unlock();
+						}
+					}
+				}
+				loading.complete(output);
+				return Optional.ofNullable(output);
+			} catch (final RuntimeException | Error e) {
+				loading.completeExceptionally(e);
+				throw e;
+			} finally {
+				// only after the cache has been written, so that later callers find the value there
+				inFlight.remove(input, loading);
+			}
+		};
+	}
+
+	/**
+	 * In-flight (or completed) load of a single key.
+	 */
+	private static final class Loading<T> extends CompletableFuture<@Nullable T> {
+
+		private final Thread owner = Thread.currentThread();
+
+		@Nullable T await() {
+			if (!isDone() && owner == Thread.currentThread()) {
+				throw new IllegalStateException("recursive load of the same key");
+			}
+			try {
+				// join() is a managed blocker, so a waiting ForkJoinPool worker gets compensated
+				return join();
+			} catch (final CompletionException e) {
+				if (e.getCause() instanceof RuntimeException re) {
+					throw re;
+				}
+				if (e.getCause() instanceof Error error) {
+					throw error;
+				}
+				throw e;
+			}
+		}
+
 	}
 
 }
@@ -16,4 +16,11 @@ public interface MemoizationFunction<I, O> extends Function<I, Optional<O>> {
 		return apply(input).orElseThrow();
 	}
 
+	/**
+	 * Counters of this function, only present if enabled via {@link MemoizationOptions#recordStats(String)}.
+	 */
+	default Optional<MemoizationStats> stats() {
+		return Optional.empty();
+	}
+
 }
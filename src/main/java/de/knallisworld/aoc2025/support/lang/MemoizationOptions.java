@@ -2,7 +2,9 @@ package de.knallisworld.aoc2025.support.lang;
 
 import lombok.Builder;
 import lombok.Getter;
+import org.jspecify.annotations.Nullable;
 
+import java.time.Duration;
 import java.util.function.Consumer;
 
 @Getter
@@ -27,6 +29,75 @@ public class MemoizationOptions {
 	@Builder.Default
 	private boolean threadSafe = false;
 
+	/**
+	 * Maximum number of cached items, negative for unbounded.
+	 */
+	@Builder.Default
+	private long maximumSize = -1;
+
+	/**
+	 * Maximum total weight of cached items (see {@link #weigher}), negative for unbounded.
+	 */
+	@Builder.Default
+	private long maximumWeight = -1;
+
+	/**
+	 * Weight of a single cached item, only used together with {@link #maximumWeight}.
+	 */
+	private @Nullable Weigher weigher;
+
+	/**
+	 * Which items are evicted once a maximum is reached.
+	 */
+	@Builder.Default
+	private EvictionPolicy evictionPolicy = EvictionPolicy.LRU;
+
+	/**
+	 * Items expire after this duration since they have been loaded, null for never.
+	 */
+	private @Nullable Duration expireAfterWrite;
+
+	/**
+	 * Indicates whether hits, misses, load times, size and evictions are recorded, see {@link MemoizationStats}.
+	 */
+	@Builder.Default
+	private boolean recordStats = false;
+
+	/**
+	 * Name of the memoized function in the recorded stats; empty for a generated one.
+	 */
+	@Builder.Default
+	private String name = "";
+
+	public enum EvictionPolicy {
+
+		/**
+		 * Evicts the least recently used item.
+		 */
+		LRU,
+
+		/**
+		 * Evicts the least recently used item, but a new item is only admitted if it has been requested more often
+		 * (recently) than that victim. Protects the cache against one-off keys of large scans.
+		 */
+		TINY_LFU
+
+	}
+
+	@FunctionalInterface
+	public interface Weigher {
+
+		long weigh(Object key, @Nullable Object value);
+
+	}
+
+	/**
+	 * Indicates whether the cache is bounded at all, by size, weight or time.
+	 */
+	public boolean isBounded() {
+		return maximumSize >= 0 || maximumWeight >= 0 || expireAfterWrite != null;
+	}
+
 	/**
 	 * default options
 	 */
@@ -56,4 +127,41 @@ public class MemoizationOptions {
 		return o -> o.threadSafe(true);
 	}
 
+	/**
+	 * Keeps at most the given number of items, evicting the least recently used.
+	 */
+	public static Consumer<MemoizationOptionsBuilder> maximumSize(final long maximumSize) {
+		return maximumSize(maximumSize, EvictionPolicy.LRU);
+	}
+
+	/**
+	 * Keeps at most the given number of items, evicting with the given policy.
+	 */
+	public static Consumer<MemoizationOptionsBuilder> maximumSize(final long maximumSize,
+																  final EvictionPolicy evictionPolicy) {
+		return o -> o.maximumSize(maximumSize).evictionPolicy(evictionPolicy);
+	}
+
+	/**
+	 * Keeps items up to the given total weight, evicting the least recently used.
+	 */
+	public static Consumer<MemoizationOptionsBuilder> maximumWeight(final long maximumWeight,
+																	final Weigher weigher) {
+		return o -> o.maximumWeight(maximumWeight).weigher(weigher);
+	}
+
+	/**
+	 * Items expire after the given duration since they have been loaded.
+	 */
+	public static Consumer<MemoizationOptionsBuilder> expireAfterWrite(final Duration duration) {
+		return o -> o.expireAfterWrite(duration);
+	}
+
+	/**
+	 * Records stats under the given name, see {@link Memoization#stats()}.
+	 */
+	public static Consumer<MemoizationOptionsBuilder> recordStats(final String name) {
+		return o -> o.recordStats(true).name(name);
+	}
+
 }
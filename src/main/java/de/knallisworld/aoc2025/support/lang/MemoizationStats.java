@@ -0,0 +1,45 @@
+package de.knallisworld.aoc2025.support.lang;
+
+import java.time.Duration;
+
+/**
+ * Snapshot of the counters of a memoized function, see {@link MemoizationOptions#recordStats(String)}.
+ *
+ * @param hits          requests answered from the cache (including those which waited for a concurrent load)
+ * @param misses        requests which had to load
+ * @param loadTimeNanos total time spent in the loader; includes nested (recursive) loads
+ * @param size          current number of cached items
+ * @param evictions     items removed because of size, weight or time bounds
+ */
+public record MemoizationStats(String name,
+							   long hits,
+							   long misses,
+							   long loadTimeNanos,
+							   long size,
+							   long evictions) {
+
+	public long requests() {
+		return hits + misses;
+	}
+
+	public double hitRate() {
+		final var requests = requests();
+		return requests == 0 ? 0 : (double) hits / requests;
+	}
+
+	public Duration loadTime() {
+		return Duration.ofNanos(loadTimeNanos);
+	}
+
+	public Duration averageLoadTime() {
+		return misses == 0 ? Duration.ZERO : Duration.ofNanos(loadTimeNanos / misses);
+	}
+
+	@Override
+	public String toString() {
+		return "%s: hits=%d, misses=%d, hitRate=%.2f%%, loadTime=%.3fms (avg %.3fµs), size=%d, evictions=%d".formatted(
+				name, hits, misses, hitRate() * 100, loadTimeNanos / 1e6, averageLoadTime().toNanos() / 1e3, size, evictions
+		);
+	}
+
+}
@@ -0,0 +1,138 @@
+package de.knallisworld.aoc2025.support.lang;
+
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Memoization of primitive functions without any boxing, {@link java.util.Optional} or entry objects per lookup.
+ * <p>
+ * Keys are stored in an open addressing hash table, or in plain arrays if the key range is declared up front.
+ * Recursive calls of the memoized function are fine; none of the functions is thread-safe.
+ * Multiple int arguments can be packed into a single {@code long} key using the {@code key(...)} helpers.
+ */
+public class PrimitiveMemoization {
+
+	/**
+	 * Memoize the output for each {@code long} input.
+	 */
+	public static LongUnaryOperator memoize(final LongUnaryOperator loader) {
+		return memoize(loader, 64);
+	}
+
+	/**
+	 * Memoize the output for each {@code long} input.
+	 *
+	 * @param expectedSize expected number of distinct inputs (the table grows anyway)
+	 */
+	public static LongUnaryOperator memoize(final LongUnaryOperator loader, final int expectedSize) {
+		final var table = new LongLongTable(expectedSize);
+		return input -> {
+			final var index = table.indexOf(input);
+			if (index >= 0) {
+				return table.valueAt(index);
+			}
+			final var output = loader.applyAsLong(input);
+			table.put(input, output);
+			return output;
+		};
+	}
+
+	/**
+	 * Memoize the output for each {@code long} input within {@code [minKey, maxKey]} in a dense array;
+	 * inputs outside of that range are rejected.
+	 */
+	public static LongUnaryOperator memoizeDense(final LongUnaryOperator loader, final long minKey, final long maxKey) {
+		final var size = Math.toIntExact(Math.subtractExact(maxKey, minKey) + 1);
+		final var values = new long[size];
+		final var present = new long[(size + 63) >>> 6];
+		return input -> {
+			if (input < minKey || input > maxKey) {
+				throw new IndexOutOfBoundsException("key %d out of range [%d, %d]".formatted(input, minKey, maxKey));
+			}
+			final var i = (int) (input - minKey);
+			if ((present[i >>> 6] & (1L << i)) != 0) {
+				return values[i];
+			}
+			final var output = loader.applyAsLong(input);
+			values[i] = output;
+			present[i >>> 6] |= 1L << i;
+			return output;
+		};
+	}
+
+	/**
+	 * Memoize the output for each {@code (int, int)} input.
+	 */
+	public static IntIntToLongFunction memoize(final IntIntToLongFunction loader) {
+		final var memoized = memoize(key -> loader.applyAsLong(keyA(key), keyB(key)), 64);
+		return (a, b) -> memoized.applyAsLong(key(a, b));
+	}
+
+	/**
+	 * Memoize the output for each {@code (int, int)} input within {@code [0, width) x [0, height)} in a dense array;
+	 * inputs outside of that range are rejected.
+	 */
+	public static IntIntToLongFunction memoizeDense(final IntIntToLongFunction loader, final int width, final int height) {
+		final var size = Math.multiplyExact(width, height);
+		final var values = new long[size];
+		final var present = new long[(size + 63) >>> 6];
+		return (a, b) -> {
+			if (a < 0 || a >= width || b < 0 || b >= height) {
+				throw new IndexOutOfBoundsException("key (%d, %d) out of range [0, %d) x [0, %d)".formatted(a, b, width, height));
+			}
+			final var i = b * width + a;
+			if ((present[i >>> 6] & (1L << i)) != 0) {
+				return values[i];
+			}
+			final var output = loader.applyAsLong(a, b);
+			values[i] = output;
+			present[i >>> 6] |= 1L << i;
+			return output;
+		};
+	}
+
+	/**
+	 * Packs two ints into one key.
+	 */
+	public static long key(final int a, final int b) {
+		return ((long) a << 32) | (b & 0xFFFFFFFFL);
+	}
+
+	public static int keyA(final long key) {
+		return (int) (key >> 32);
+	}
+
+	public static int keyB(final long key) {
+		return (int) key;
+	}
+
+	/**
+	 * Packs three ints of 21 bits each (signed, {@code [-2^20, 2^20)}) into one key.
+	 */
+	public static long key(final int a, final int b, final int c) {
+		return (checkBits(a, 21) << 42) | (checkBits(b, 21) << 21) | checkBits(c, 21);
+	}
+
+	/**
+	 * Packs four ints of 16 bits each (signed, {@code [-2^15, 2^15)}) into one key.
+	 */
+	public static long key(final int a, final int b, final int c, final int d) {
+		return (checkBits(a, 16) << 48) | (checkBits(b, 16) << 32) | (checkBits(c, 16) << 16) | checkBits(d, 16);
+	}
+
+	/**
+	 * Unpacks the {@code index}-th component of a key made of {@code bits}-wide parts (the last part has index 0).
+	 */
+	public static int keyPart(final long key, final int bits, final int index) {
+		// shift the part to the top, then back with sign extension
+		return (int) ((key << (64 - bits * (index + 1))) >> (64 - bits));
+	}
+
+	private static long checkBits(final int value, final int bits) {
+		final var limit = 1 << (bits - 1);
+		if (value < -limit || value >= limit) {
+			throw new IllegalArgumentException("value %d does not fit into %d bits".formatted(value, bits));
+		}
+		return value & ((1L << bits) - 1);
+	}
+
+}
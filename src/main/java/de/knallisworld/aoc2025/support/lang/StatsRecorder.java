@@ -0,0 +1,109 @@
+package de.knallisworld.aoc2025.support.lang;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Counters of a single memoized function. {@link LongAdder}s, so recording does not contend under parallel use.
+ * <p>
+ * Every recorder is registered globally, see {@link Memoization#stats()}. The registry only holds weak references: a
+ * recorder (and the cache bound to it) stays collectable together with its memoized function, which is the only
+ * strong holder.
+ */
+final class StatsRecorder {
+
+	private static final List<WeakReference<StatsRecorder>> REGISTRY = new CopyOnWriteArrayList<>();
+	private static final AtomicInteger COUNTER = new AtomicInteger();
+
+	private final String name;
+	private final LongAdder requests = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder loadTime = new LongAdder();
+	private LongSupplier size = () -> 0;
+	private LongSupplier evictions = () -> 0;
+
+	private StatsRecorder(final String name) {
+		this.name = name;
+	}
+
+	static StatsRecorder register(final String name) {
+		final var recorder = new StatsRecorder(name.isEmpty() ? "memoize#" + COUNTER.incrementAndGet() : name);
+		REGISTRY.add(new WeakReference<>(recorder));
+		return recorder;
+	}
+
+	/**
+	 * Stats of all recorders still alive; recorders of collected functions are dropped from the registry.
+	 */
+	static List<MemoizationStats> snapshotAll() {
+		REGISTRY.removeIf(ref -> ref.get() == null);
+		return REGISTRY.stream()
+					   .map(WeakReference::get)
+					   .filter(Objects::nonNull)
+					   .map(StatsRecorder::snapshot)
+					   .toList();
+	}
+
+	/**
+	 * Binds the size and eviction counters of the actual cache.
+	 */
+	void bind(final LongSupplier size, final LongSupplier evictions) {
+		this.size = size;
+		this.evictions = evictions;
+	}
+
+	/**
+	 * Wraps the loader, so that every load is counted as a miss and timed.
+	 */
+	<I, O> Function<I, Optional<O>> timed(final Function<I, Optional<O>> loader) {
+		return input -> {
+			misses.increment();
+			final var started = System.nanoTime();
+			try {
+				return loader.apply(input);
+			} finally {
+				loadTime.add(System.nanoTime() - started);
+			}
+		};
+	}
+
+	/**
+	 * Wraps the memoized function, so that every request is counted.
+	 */
+	<I, O> MemoizationFunction<I, O> counted(final MemoizationFunction<I, O> memoized) {
+		return new MemoizationFunction<>() {
+
+			@Override
+			public Optional<O> apply(final I input) {
+				requests.increment();
+				return memoized.apply(input);
+			}
+
+			@Override
+			public Optional<MemoizationStats> stats() {
+				return Optional.of(snapshot());
+			}
+
+		};
+	}
+
+	MemoizationStats snapshot() {
+		final var missCount = misses.sum();
+		return new MemoizationStats(
+				name,
+				Math.max(requests.sum() - missCount, 0),
+				missCount,
+				loadTime.sum(),
+				size.getAsLong(),
+				evictions.getAsLong()
+		);
+	}
+
+}
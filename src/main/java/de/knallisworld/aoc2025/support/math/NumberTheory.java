@@ -0,0 +1,288 @@
+package de.knallisworld.aoc2025.support.math;
+
+import java.math.BigInteger;
+import java.util.stream.LongStream;
+
+/**
+ * GCD/LCM, modular arithmetic and the Chinese Remainder Theorem on {@code long}s.
+ * <p>
+ * All primitive methods are allocation-free; overflows are never silent but raise an {@link ArithmeticException}.
+ */
+public class NumberTheory {
+
+	/**
+	 * Largest value whose square still fits into a {@code long}.
+	 */
+	private static final long SQRT_MAX = 3037000499L;
+
+	/**
+	 * @param gcd greatest common divisor (non-negative)
+	 * @param x   coefficient of {@code a} in {@code a * x + b * y = gcd}
+	 * @param y   coefficient of {@code b} in {@code a * x + b * y = gcd}
+	 */
+	public record ExtendedGcd(long gcd, long x, long y) {
+	}
+
+	/**
+	 * Greatest common divisor (Euclid), always non-negative; {@code gcd(0, 0) = 0}.
+	 */
+	public static long gcd(long a, long b) {
+		a = Math.absExact(a);
+		b = Math.absExact(b);
+		while (b != 0) {
+			final var t = a % b;
+			a = b;
+			b = t;
+		}
+		return a;
+	}
+
+	/**
+	 * Greatest common divisor (Stein's binary algorithm, shifts and subtractions only), always non-negative.
+	 */
+	public static long binaryGcd(long a, long b) {
+		a = Math.absExact(a);
+		b = Math.absExact(b);
+		if (a == 0) {
+			return b;
+		}
+		if (b == 0) {
+			return a;
+		}
+		final var shift = Long.numberOfTrailingZeros(a | b);
+		a >>= Long.numberOfTrailingZeros(a);
+		while (b != 0) {
+			b >>= Long.numberOfTrailingZeros(b);
+			if (a > b) {
+				final var t = a;
+				a = b;
+				b = t;
+			}
+			b -= a;
+		}
+		return a << shift;
+	}
+
+	public static long gcd(final long... numbers) {
+		var result = 0L;
+		for (final var number : numbers) {
+			result = gcd(result, number);
+		}
+		return result;
+	}
+
+	/**
+	 * Least common multiple, always non-negative; 0 if any number is 0.
+	 *
+	 * @throws ArithmeticException if the result overflows
+	 */
+	public static long lcm(final long a, final long b) {
+		if (a == 0 || b == 0) {
+			return 0;
+		}
+		return Math.multiplyExact(Math.absExact(a) / gcd(a, b), Math.absExact(b));
+	}
+
+	/**
+	 * @throws ArithmeticException if the result overflows
+	 */
+	public static long lcm(final long... numbers) {
+		var result = 1L;
+		for (final var number : numbers) {
+			result = lcm(result, number);
+		}
+		return result;
+	}
+
+	/**
+	 * @throws ArithmeticException if the result overflows
+	 */
+	public static long lcm(final LongStream numbers) {
+		return numbers.reduce(1L, NumberTheory::lcm);
+	}
+
+	/**
+	 * Extended Euclid: the gcd and coefficients {@code x, y} with {@code a * x + b * y = gcd(a, b)}.
+	 */
+	public static ExtendedGcd extendedGcd(final long a, final long b) {
+		var oldR = a;
+		var r = b;
+		var oldX = 1L;
+		var x = 0L;
+		var oldY = 0L;
+		var y = 1L;
+		while (r != 0) {
+			final var q = oldR / r;
+			var t = oldR - q * r;
+			oldR = r;
+			r = t;
+			t = oldX - q * x;
+			oldX = x;
+			x = t;
+			t = oldY - q * y;
+			oldY = y;
+			y = t;
+		}
+		if (oldR < 0) {
+			return new ExtendedGcd(-oldR, -oldX, -oldY);
+		}
+		return new ExtendedGcd(oldR, oldX, oldY);
+	}
+
+	/**
+	 * Modular inverse of {@code a} modulo {@code m}, in {@code [0, m)}.
+	 *
+	 * @throws ArithmeticException if {@code a} and {@code m} are not coprime
+	 */
+	public static long modInverse(final long a, final long m) {
+		if (m <= 0) {
+			throw new ArithmeticException("modulus must be positive");
+		}
+		// extended Euclid, only tracking the coefficient of a
+		var oldR = Math.floorMod(a, m);
+		var r = m;
+		var oldX = 1L;
+		var x = 0L;
+		while (r != 0) {
+			final var q = oldR / r;
+			var t = oldR - q * r;
+			oldR = r;
+			r = t;
+			t = oldX - q * x;
+			oldX = x;
+			x = t;
+		}
+		if (oldR != 1) {
+			throw new ArithmeticException("%d has no inverse modulo %d".formatted(a, m));
+		}
+		return Math.floorMod(oldX, m);
+	}
+
+	/**
+	 * {@code (a + b) mod m} without overflow, for {@code a, b} in {@code [0, m)}.
+	 */
+	public static long addMod(final long a, final long b, final long m) {
+		return a >= m - b ? a - (m - b) : a + b;
+	}
+
+	/**
+	 * {@code (a * b) mod m} without overflow, in {@code [0, m)}.
+	 */
+	public static long mulMod(long a, long b, final long m) {
+		if (m <= 0) {
+			throw new ArithmeticException("modulus must be positive");
+		}
+		a = Math.floorMod(a, m);
+		b = Math.floorMod(b, m);
+		if (m <= SQRT_MAX) {
+			return a * b % m;
+		}
+		// double-and-add, every intermediate stays below m
+		var result = 0L;
+		while (b > 0) {
+			if ((b & 1) == 1) {
+				result = addMod(result, a, m);
+			}
+			a = addMod(a, a, m);
+			b >>= 1;
+		}
+		return result;
+	}
+
+	/**
+	 * {@code base^exponent mod m} by square-and-multiply, in {@code [0, m)}.
+	 */
+	public static long modPow(long base, long exponent, final long m) {
+		if (exponent < 0) {
+			return modPow(modInverse(base, m), Math.negateExact(exponent), m);
+		}
+		if (m == 1) {
+			return 0;
+		}
+		base = Math.floorMod(base, m);
+		var result = 1L;
+		while (exponent > 0) {
+			if ((exponent & 1) == 1) {
+				result = mulMod(result, base, m);
+			}
+			base = mulMod(base, base, m);
+			exponent >>= 1;
+		}
+		return result;
+	}
+
+	/**
+	 * Chinese Remainder Theorem: the smallest non-negative {@code x} with {@code x = remainders[i] (mod moduli[i])}
+	 * for all {@code i}. Moduli need not be coprime.
+	 *
+	 * @throws IllegalArgumentException if the congruences are inconsistent
+	 * @throws ArithmeticException      if the combined modulus does not fit into a {@code long}, see
+	 *                                  {@link #crtExact(long[], long[])}
+	 */
+	public static long crt(final long[] remainders, final long[] moduli) {
+		checkCongruences(remainders, moduli);
+		var x = 0L;
+		var m = 1L;
+		for (var i = 0; i < remainders.length; i++) {
+			final var mi = moduli[i];
+			final var ai = Math.floorMod(remainders[i], mi);
+			final var g = gcd(m, mi);
+			final var diff = ai - x % mi;
+			if (diff % g != 0) {
+				throw new IllegalArgumentException("inconsistent congruences");
+			}
+			final var reducedModulus = mi / g;
+			// x + m * k = ai (mod mi)  <=>  k = diff / g * inverse(m / g) (mod mi / g)
+			final var k = mulMod(Math.floorMod(diff / g, reducedModulus), modInverse(m / g, reducedModulus), reducedModulus);
+			final var combined = Math.multiplyExact(m, reducedModulus);
+			// m * k < combined, so this cannot overflow
+			x = addMod(x, m * k, combined);
+			m = combined;
+		}
+		return x;
+	}
+
+	/**
+	 * Like {@link #crt(long[], long[])}, but falls back to {@link BigInteger} if the combined modulus does not fit into
+	 * a {@code long}.
+	 */
+	public static BigInteger crtExact(final long[] remainders, final long[] moduli) {
+		try {
+			return BigInteger.valueOf(crt(remainders, moduli));
+		} catch (final ArithmeticException e) {
+			return crtBig(remainders, moduli);
+		}
+	}
+
+	private static BigInteger crtBig(final long[] remainders, final long[] moduli) {
+		var x = BigInteger.ZERO;
+		var m = BigInteger.ONE;
+		for (var i = 0; i < remainders.length; i++) {
+			final var mi = BigInteger.valueOf(moduli[i]);
+			final var ai = BigInteger.valueOf(remainders[i]).mod(mi);
+			final var g = m.gcd(mi);
+			final var diff = ai.subtract(x.mod(mi));
+			if (diff.mod(g).signum() != 0) {
+				throw new IllegalArgumentException("inconsistent congruences");
+			}
+			final var reducedModulus = mi.divide(g);
+			final var k = diff.divide(g).multiply(m.divide(g).modInverse(reducedModulus)).mod(reducedModulus);
+			final var combined = m.multiply(reducedModulus);
+			x = x.add(m.multiply(k)).mod(combined);
+			m = combined;
+		}
+		return x;
+	}
+
+	private static void checkCongruences(final long[] remainders, final long[] moduli) {
+		if (remainders.length != moduli.length) {
+			throw new IllegalArgumentException("remainders and moduli must have the same length");
+		}
+		for (final var modulus : moduli) {
+			if (modulus <= 0) {
+				throw new IllegalArgumentException("moduli must be positive");
+			}
+		}
+	}
+
+}
@@ -0,0 +1,63 @@
+package de.knallisworld.aoc2025.support.puzzle;
+
+import java.lang.foreign.MemorySegment;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+
+/**
+ * Zero-copy {@link CharSequence} view of a byte range of a {@link MemorySegment}, one char per byte
+ * (ISO-8859-1, which covers the plain ASCII puzzle inputs).
+ * <p>
+ * Only valid as long as the backing {@link MappedInput} is open; use {@link #toString()} to keep a copy.
+ */
+public final class ByteSlice implements CharSequence {
+
+	private final MemorySegment segment;
+	private final long offset;
+	private final int length;
+
+	ByteSlice(final MemorySegment segment, final long offset, final int length) {
+		this.segment = segment;
+		this.offset = offset;
+		this.length = length;
+	}
+
+	public MemorySegment segment() {
+		return segment;
+	}
+
+	/**
+	 * Offset of the first byte within {@link #segment()}.
+	 */
+	public long offset() {
+		return offset;
+	}
+
+	public byte byteAt(final int index) {
+		return segment.get(JAVA_BYTE, offset + Objects.checkIndex(index, length));
+	}
+
+	@Override
+	public int length() {
+		return length;
+	}
+
+	@Override
+	public char charAt(final int index) {
+		return (char) (byteAt(index) & 0xFF);
+	}
+
+	@Override
+	public ByteSlice subSequence(final int start, final int end) {
+		Objects.checkFromToIndex(start, end, length);
+		return new ByteSlice(segment, offset + start, end - start);
+	}
+
+	@Override
+	public String toString() {
+		return new String(segment.asSlice(offset, length).toArray(JAVA_BYTE), StandardCharsets.ISO_8859_1);
+	}
+
+}
@@ -3,16 +3,35 @@ package de.knallisworld.aoc2025.support.puzzle;
 import org.springframework.util.StringUtils;
 
 import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
 public class InputParser {
 
+	private static final Map<String, Pattern> SEPARATORS = new ConcurrentHashMap<>();
+
+	/**
+	 * All (signed) integers of the string, see {@link NumberScanner}.
+	 */
+	public static int[] str2ints(final CharSequence str) {
+		return NumberScanner.ints(str);
+	}
+
+	/**
+	 * All (signed) integers of the string, see {@link NumberScanner}.
+	 */
+	public static long[] str2longs(final CharSequence str) {
+		return NumberScanner.longs(str);
+	}
+
 	public static Stream<Integer> str2int(final String str) {
 		return str2int(str, ",");
 	}
 
 	public static Stream<Integer> str2int(final String str, final String separator) {
-		return Arrays.stream(str.split(separator))
+		return Arrays.stream(split(str, separator))
 					 .map(String::strip)
 					 .filter(StringUtils::hasText)
 					 .map(Integer::parseInt);
@@ -23,10 +42,22 @@ public class InputParser {
 	}
 
 	public static Stream<Long> str2long(final String str, final String separator) {
-		return Arrays.stream(str.split(separator))
+		return Arrays.stream(split(str, separator))
 					 .map(String::strip)
 					 .filter(StringUtils::hasText)
 					 .map(Long::parseLong);
 	}
 
+	/**
+	 * Like {@link String#split(String)}, but compiles a separator pattern only once.
+	 */
+	private static String[] split(final String str, final String separator) {
+		if (separator.length() == 1 && ".$|()[{^?*+\\".indexOf(separator.charAt(0)) < 0) {
+			// String#split does not use a pattern at all for plain single char separators
+			return str.split(separator);
+		}
+		return SEPARATORS.computeIfAbsent(separator, Pattern::compile)
+						 .split(str);
+	}
+
 }
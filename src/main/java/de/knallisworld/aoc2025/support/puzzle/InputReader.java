@@ -4,9 +4,15 @@ import lombok.SneakyThrows;
 
 import java.io.BufferedReader;
 import java.io.InputStream;
+import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
@@ -14,10 +20,17 @@ import static java.util.Objects.requireNonNull;
 
 public class InputReader {
 
+	/**
+	 * System property of the file system directory containing the inputs ({@code dayNN/name.txt}).
+	 */
+	public static final String INPUT_DIR_PROPERTY = "aoc.input.dir";
+
+	static final String DEFAULT_INPUT_DIR = "src/main/resources";
+
 	@SneakyThrows
 	public static String readInputFirstLine(final int day,
 											final String name) {
-		try (final var reader = new BufferedReader(new InputStreamReader(buildInputStream(day, name)))) {
+		try (final var reader = newReader(day, name)) {
 			return reader.readLine();
 		}
 	}
@@ -32,7 +45,7 @@ public class InputReader {
 	@SneakyThrows
 	public static List<String> readInputLines(final int day,
 											  final String name) {
-		try (final var reader = new BufferedReader(new InputStreamReader(buildInputStream(day, name)))) {
+		try (final var reader = newReader(day, name)) {
 			final var result = new ArrayList<String>();
 			while (true) {
 				String line = reader.readLine();
@@ -45,36 +58,78 @@ public class InputReader {
 		}
 	}
 
-	@SneakyThrows
+	/**
+	 * Stream of all lines, read completely beforehand; nothing to close. See
+	 * {@link #readInputLinesLazily(int, String, Function)} for large inputs.
+	 */
 	public static <T> Stream<T> readInputLinesAsStream(final int day,
 													   final String name,
 													   final Function<String, T> converter) {
-		try (final var reader = new BufferedReader(new InputStreamReader(buildInputStream(day, name)))) {
-			final var result = new ArrayList<String>();
-			while (true) {
-				String line = reader.readLine();
-				if (line == null) {
-					break;
-				}
-				result.add(line);
-			}
-			return result.stream()
-						 .map(converter);
-		}
+		return readInputLines(day, name)
+				.stream()
+				.map(converter);
+	}
+
+	/**
+	 * Lazy stream of all lines, the input is read while consuming. The stream holds the open input and must be
+	 * closed (try-with-resources).
+	 */
+	public static <T> Stream<T> readInputLinesLazily(final int day,
+													 final String name,
+													 final Function<String, T> converter) {
+		final var reader = newReader(day, name);
+		return reader.lines()
+					 .map(converter)
+					 .onClose(() -> {
+						 try {
+							 reader.close();
+						 } catch (final IOException e) {
+							 throw new UncheckedIOException(e);
+						 }
+					 });
 	}
 
 	@SneakyThrows
 	public static <T> List<T> readInputLines(final int day,
 											 final String name,
 											 final Function<String, T> converter) {
-		return readInputLinesAsStream(day, name, converter).toList();
+		try (final var stream = readInputLinesLazily(day, name, converter)) {
+			return stream.toList();
+		}
+	}
+
+	/**
+	 * Opens the input as a single memory segment: memory-mapped if available on the file system
+	 * (see {@link #INPUT_DIR_PROPERTY}), otherwise read from the classpath. Must be closed.
+	 */
+	@SneakyThrows
+	public static MappedInput mapInput(final int day,
+									   final String name) {
+		final var file = resolveInputFile(day, name);
+		if (file.isPresent()) {
+			return MappedInput.map(file.get());
+		}
+		try (final var stream = buildInputStream(day, name)) {
+			return MappedInput.of(stream.readAllBytes());
+		}
+	}
+
+	/**
+	 * Lazy, zero-copy stream of all lines, see {@link #mapInput(int, String)}. The stream must be closed,
+	 * which also releases the mapping; the lines must not be used afterward.
+	 */
+	public static Stream<CharSequence> streamInputLines(final int day,
+														final String name) {
+		final var input = mapInput(day, name);
+		return input.lines()
+					.onClose(input::close);
 	}
 
 	@SneakyThrows
 	public static <T> List<List<T>> readInputLinesMulti(final int day,
 														final String name,
 														final Function<String, Stream<T>> transformer) {
-		try (final var reader = new BufferedReader(new InputStreamReader(buildInputStream(day, name)))) {
+		try (final var reader = newReader(day, name)) {
 			final var result = new ArrayList<List<T>>();
 			while (true) {
 				String line = reader.readLine();
@@ -91,6 +146,15 @@ public class InputReader {
 		return "day%02d/%s.txt".formatted(day, name);
 	}
 
+	static Optional<Path> resolveInputFile(final int day, final String name) {
+		final var file = Path.of(System.getProperty(INPUT_DIR_PROPERTY, DEFAULT_INPUT_DIR), buildResourcePath(day, name));
+		return Optional.of(file).filter(Files::isRegularFile);
+	}
+
+	private static BufferedReader newReader(final int day, final String name) {
+		return new BufferedReader(new InputStreamReader(buildInputStream(day, name), StandardCharsets.UTF_8));
+	}
+
 	private static InputStream buildInputStream(final int day, final String name) {
 		return requireNonNull(InputReader.class.getClassLoader().getResourceAsStream(buildResourcePath(day, name)));
 	}
@@ -0,0 +1,136 @@
+package de.knallisworld.aoc2025.support.puzzle;
+
+import lombok.SneakyThrows;
+import org.jspecify.annotations.Nullable;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+
+/**
+ * Puzzle input as a single {@link MemorySegment}: memory-mapped when read from the file system, a heap segment
+ * otherwise. Lines are exposed as zero-copy {@link ByteSlice}s.
+ * <p>
+ * Closing unmaps the file immediately; slices must not be used afterward.
+ */
+public final class MappedInput implements AutoCloseable {
+
+	private final @Nullable Arena arena;
+	private final MemorySegment segment;
+
+	private MappedInput(final @Nullable Arena arena, final MemorySegment segment) {
+		this.arena = arena;
+		this.segment = segment;
+	}
+
+	@SneakyThrows
+	public static MappedInput map(final Path path) {
+		final var arena = Arena.ofShared();
+		try (final var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			// the mapping stays valid after closing the channel, until the arena is closed
+			return new MappedInput(arena, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena));
+		} catch (final Exception e) {
+			arena.close();
+			throw e;
+		}
+	}
+
+	public static MappedInput of(final byte[] bytes) {
+		return new MappedInput(null, MemorySegment.ofArray(bytes));
+	}
+
+	public MemorySegment segment() {
+		return segment;
+	}
+
+	public long size() {
+		return segment.byteSize();
+	}
+
+	/**
+	 * The whole input as a single slice.
+	 */
+	public ByteSlice content() {
+		return new ByteSlice(segment, 0, Math.toIntExact(segment.byteSize()));
+	}
+
+	/**
+	 * Lazy stream of all lines (without line terminators {@code \n} or {@code \r\n}), like
+	 * {@link java.io.BufferedReader#lines()}. The stream splits at line boundaries, so it can run in parallel.
+	 */
+	public Stream<CharSequence> lines() {
+		return StreamSupport.stream(new LineSpliterator(segment, 0, segment.byteSize()), false);
+	}
+
+	@Override
+	public void close() {
+		if (arena != null) {
+			arena.close();
+		}
+	}
+
+	private static final class LineSpliterator implements Spliterator<CharSequence> {
+
+		private final MemorySegment segment;
+		private long position;
+		private final long end;
+
+		private LineSpliterator(final MemorySegment segment, final long position, final long end) {
+			this.segment = segment;
+			this.position = position;
+			this.end = end;
+		}
+
+		@Override
+		public boolean tryAdvance(final Consumer<? super CharSequence> action) {
+			if (position >= end) {
+				return false;
+			}
+			final var start = position;
+			var lineEnd = start;
+			while (lineEnd < end && segment.get(JAVA_BYTE, lineEnd) != '\n') {
+				lineEnd++;
+			}
+			position = lineEnd + 1;
+			if (lineEnd > start && segment.get(JAVA_BYTE, lineEnd - 1) == '\r') {
+				lineEnd--;
+			}
+			action.accept(new ByteSlice(segment, start, Math.toIntExact(lineEnd - start)));
+			return true;
+		}
+
+		@Override
+		public @Nullable Spliterator<CharSequence> trySplit() {
+			var mid = position + ((end - position) >>> 1);
+			while (mid < end && segment.get(JAVA_BYTE, mid) != '\n') {
+				mid++;
+			}
+			if (mid + 1 >= end || mid <= position) {
+				return null;
+			}
+			final var prefix = new LineSpliterator(segment, position, mid + 1);
+			position = mid + 1;
+			return prefix;
+		}
+
+		@Override
+		public long estimateSize() {
+			return end - position;
+		}
+
+		@Override
+		public int characteristics() {
+			return ORDERED | NONNULL | IMMUTABLE;
+		}
+
+	}
+
+}
@@ -0,0 +1,151 @@
+package de.knallisworld.aoc2025.support.puzzle;
+
+import java.lang.foreign.MemorySegment;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+
+/**
+ * Hand-written scanner extracting all integers out of text, without regular expressions or intermediate strings.
+ * Everything that is not a digit is treated as a separator.
+ * <p>
+ * When scanning signed, a {@code -} directly in front of a digit is a sign unless it follows a digit itself,
+ * so {@code "x=-3"} yields {@code -3} while the range {@code "5-10"} yields {@code 5} and {@code 10}.
+ */
+public class NumberScanner {
+
+	public static int[] ints(final CharSequence str) {
+		return ints(str, true);
+	}
+
+	public static int[] ints(final CharSequence str, final boolean signed) {
+		final var longs = longs(str, signed);
+		final var result = new int[longs.length];
+		for (var i = 0; i < longs.length; i++) {
+			final var value = longs[i];
+			if (value != (int) value) {
+				throw new NumberFormatException("number too large: " + value);
+			}
+			result[i] = (int) value;
+		}
+		return result;
+	}
+
+	public static IntStream intStream(final CharSequence str) {
+		return IntStream.of(ints(str));
+	}
+
+	public static long[] longs(final CharSequence str) {
+		return longs(str, true);
+	}
+
+	public static long[] longs(final CharSequence str, final boolean signed) {
+		final var collector = new Collector();
+		final var length = str.length();
+		var previous = -1;
+		for (var i = 0; i < length; i++) {
+			final var c = str.charAt(i);
+			if (isDigit(c)) {
+				final var negative = signed && previous == '-' && (i < 2 || !isDigit(str.charAt(i - 2)));
+				var value = 0L;
+				var j = i;
+				for (; j < length && isDigit(str.charAt(j)); j++) {
+					value = accumulate(value, str.charAt(j));
+				}
+				collector.add(signed(value, negative));
+				previous = str.charAt(j - 1);
+				i = j - 1;
+			} else {
+				previous = c;
+			}
+		}
+		return collector.toArray();
+	}
+
+	public static LongStream longStream(final CharSequence str) {
+		return LongStream.of(longs(str));
+	}
+
+	/**
+	 * Scans raw (ASCII) bytes, e.g. a whole {@link MappedInput#segment()}, with the same rules.
+	 */
+	public static long[] longs(final MemorySegment segment, final boolean signed) {
+		final var collector = new Collector();
+		final var length = segment.byteSize();
+		var previous = -1;
+		for (var i = 0L; i < length; i++) {
+			final var c = segment.get(JAVA_BYTE, i);
+			if (isDigit(c)) {
+				final var negative = signed && previous == '-' && (i < 2 || !isDigit(segment.get(JAVA_BYTE, i - 2)));
+				var value = 0L;
+				var j = i;
+				byte b;
+				for (; j < length && isDigit(b = segment.get(JAVA_BYTE, j)); j++) {
+					value = accumulate(value, b);
+				}
+				collector.add(signed(value, negative));
+				previous = '0';
+				i = j - 1;
+			} else {
+				previous = c;
+			}
+		}
+		return collector.toArray();
+	}
+
+	public static long[] longs(final byte[] bytes, final boolean signed) {
+		return longs(MemorySegment.ofArray(bytes), signed);
+	}
+
+	private static boolean isDigit(final int c) {
+		return '0' <= c && c <= '9';
+	}
+
+	/**
+	 * Accumulates the magnitude negatively, as the negative range is one larger ({@link Long#MIN_VALUE}).
+	 */
+	private static long accumulate(final long value, final int digit) {
+		final var d = digit - '0';
+		if (value < (Long.MIN_VALUE + d) / 10) {
+			throw new NumberFormatException("number too large");
+		}
+		return value * 10 - d;
+	}
+
+	/**
+	 * @param negated negated magnitude, see {@link #accumulate(long, int)}
+	 */
+	private static long signed(final long negated, final boolean negative) {
+		if (negative) {
+			return negated;
+		}
+		if (negated == Long.MIN_VALUE) {
+			throw new NumberFormatException("number too large");
+		}
+		return -negated;
+	}
+
+	/**
+	 * Growable long buffer.
+	 */
+	private static final class Collector {
+
+		private long[] values = new long[16];
+		private int size;
+
+		void add(final long value) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, size << 1);
+			}
+			values[size++] = value;
+		}
+
+		long[] toArray() {
+			return Arrays.copyOf(values, size);
+		}
+
+	}
+
+}
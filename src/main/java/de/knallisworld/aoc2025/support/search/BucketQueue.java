@@ -0,0 +1,66 @@
+package de.knallisworld.aoc2025.support.search;
+
+import java.util.Arrays;
+
+/**
+ * Monotone bucket queue (Dial) for small integer edge costs: a ring of {@code maxCost + 1} buckets, where each
+ * bucket is a growable int stack. Add and poll are O(1) amortized.
+ * <p>
+ * Only valid for monotone usage: every added priority must be within {@code [current, current + maxCost]}.
+ */
+public final class BucketQueue {
+
+	private final int[][] buckets;
+	private final int[] sizes;
+	private int current;
+	private int size;
+
+	public BucketQueue(final int maxCost) {
+		if (maxCost < 0) {
+			throw new IllegalArgumentException("maxCost must not be negative");
+		}
+		this.buckets = new int[maxCost + 1][];
+		this.sizes = new int[maxCost + 1];
+		for (var i = 0; i < buckets.length; i++) {
+			buckets[i] = new int[8];
+		}
+	}
+
+	public void add(final int state, final int priority) {
+		if (priority < current || priority - current >= buckets.length) {
+			throw new IllegalArgumentException("priority %d out of range [%d, %d]".formatted(priority, current, current + buckets.length - 1));
+		}
+		final var slot = priority % buckets.length;
+		if (sizes[slot] == buckets[slot].length) {
+			buckets[slot] = Arrays.copyOf(buckets[slot], buckets[slot].length << 1);
+		}
+		buckets[slot][sizes[slot]++] = state;
+		size++;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Advances to the smallest non-empty priority; must not be called when empty.
+	 *
+	 * @return the current (minimum) priority
+	 */
+	public int advance() {
+		while (sizes[current % buckets.length] == 0) {
+			current++;
+		}
+		return current;
+	}
+
+	/**
+	 * Removes and returns a state with the minimum priority; must not be called when empty.
+	 */
+	public int poll() {
+		final var slot = advance() % buckets.length;
+		size--;
+		return buckets[slot][--sizes[slot]];
+	}
+
+}
@@ -0,0 +1,108 @@
+package de.knallisworld.aoc2025.support.search;
+
+import de.knallisworld.aoc2025.support.geo.Utils;
+import de.knallisworld.aoc2025.support.geo.grid2.Direction;
+
+import java.util.function.IntUnaryOperator;
+
+/**
+ * {@link StateSpace} over the cells of a {@code width x height} grid, optionally combined with a {@link Direction}
+ * (e.g. for "turning costs" puzzles). States are encoded as {@code (y * width + x) * directions + direction}.
+ */
+public final class GridStateSpace implements StateSpace {
+
+	@FunctionalInterface
+	public interface Successors {
+
+		void forEach(GridStateSpace space, int state, EdgeConsumer consumer);
+
+	}
+
+	private static final Direction[] DIRECTIONS = Direction.values();
+
+	private final int width;
+	private final int height;
+	private final int directions;
+	private final Successors successors;
+
+	private GridStateSpace(final int width, final int height, final int directions, final Successors successors) {
+		this.width = width;
+		this.height = height;
+		this.directions = directions;
+		this.successors = successors;
+	}
+
+	/**
+	 * One state per cell.
+	 */
+	public static GridStateSpace positions(final int width, final int height, final Successors successors) {
+		return new GridStateSpace(width, height, 1, successors);
+	}
+
+	/**
+	 * One state per cell and {@link Direction}.
+	 */
+	public static GridStateSpace directed(final int width, final int height, final Successors successors) {
+		return new GridStateSpace(width, height, DIRECTIONS.length, successors);
+	}
+
+	@Override
+	public int size() {
+		return Math.multiplyExact(Math.multiplyExact(width, height), directions);
+	}
+
+	@Override
+	public void forEachSuccessor(final int state, final EdgeConsumer consumer) {
+		successors.forEach(this, state, consumer);
+	}
+
+	public boolean contains(final int x, final int y) {
+		return 0 <= x && x < width && 0 <= y && y < height;
+	}
+
+	public int state(final int x, final int y) {
+		if (directions != 1) {
+			throw new IllegalStateException("state space is directed");
+		}
+		return y * width + x;
+	}
+
+	public int state(final int x, final int y, final Direction direction) {
+		if (directions == 1) {
+			throw new IllegalStateException("state space is not directed");
+		}
+		return (y * width + x) * directions + direction.ordinal();
+	}
+
+	public int x(final int state) {
+		return (state / directions) % width;
+	}
+
+	public int y(final int state) {
+		return (state / directions) / width;
+	}
+
+	public Direction direction(final int state) {
+		if (directions == 1) {
+			throw new IllegalStateException("state space is not directed");
+		}
+		return DIRECTIONS[state % directions];
+	}
+
+	/**
+	 * Default A* heuristic, see {@link Utils#manhattenDistance(long, long, long, long)}; only admissible if every
+	 * step costs at least 1.
+	 */
+	public IntUnaryOperator manhattanHeuristic(final int goalX, final int goalY) {
+		return state -> (int) Utils.manhattenDistance(x(state), y(state), goalX, goalY);
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	public int getHeight() {
+		return height;
+	}
+
+}
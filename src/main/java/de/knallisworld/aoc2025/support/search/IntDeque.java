@@ -0,0 +1,48 @@
+package de.knallisworld.aoc2025.support.search;
+
+/**
+ * Growable double-ended queue of primitive ints (ring buffer), used by the 0-1 BFS.
+ */
+final class IntDeque {
+
+	private int[] elements = new int[64];
+	private int head;
+	private int size;
+
+	void addFirst(final int value) {
+		ensureCapacity();
+		head = (head - 1) & (elements.length - 1);
+		elements[head] = value;
+		size++;
+	}
+
+	void addLast(final int value) {
+		ensureCapacity();
+		elements[(head + size) & (elements.length - 1)] = value;
+		size++;
+	}
+
+	int pollFirst() {
+		final var value = elements[head];
+		head = (head + 1) & (elements.length - 1);
+		size--;
+		return value;
+	}
+
+	boolean isEmpty() {
+		return size == 0;
+	}
+
+	private void ensureCapacity() {
+		if (size < elements.length) {
+			return;
+		}
+		final var grown = new int[elements.length << 1];
+		final var firstPart = elements.length - head;
+		System.arraycopy(elements, head, grown, 0, firstPart);
+		System.arraycopy(elements, 0, grown, firstPart, head);
+		elements = grown;
+		head = 0;
+	}
+
+}
@@ -0,0 +1,85 @@
+package de.knallisworld.aoc2025.support.search;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of (priority, state) pairs packed into {@code long}s, no boxing and no entry objects.
+ * <p>
+ * Does not support decrease-key: stale entries are pushed again and skipped by the caller ("lazy deletion").
+ */
+public final class IntMinHeap {
+
+	private long[] heap;
+	private int size;
+
+	public IntMinHeap() {
+		this(64);
+	}
+
+	public IntMinHeap(final int initialCapacity) {
+		this.heap = new long[Math.max(initialCapacity, 2)];
+	}
+
+	/**
+	 * @param state    non-negative state
+	 * @param priority non-negative priority
+	 */
+	public void add(final int state, final int priority) {
+		if (size == heap.length) {
+			heap = Arrays.copyOf(heap, heap.length << 1);
+		}
+		var i = size++;
+		final var entry = ((long) priority << 32) | state;
+		while (i > 0) {
+			final var parent = (i - 1) >>> 1;
+			if (heap[parent] <= entry) {
+				break;
+			}
+			heap[i] = heap[parent];
+			i = parent;
+		}
+		heap[i] = entry;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public int peekPriority() {
+		return (int) (heap[0] >>> 32);
+	}
+
+	public int peekState() {
+		return (int) heap[0];
+	}
+
+	/**
+	 * Removes the minimum; read it before via {@link #peekState()}/{@link #peekPriority()}.
+	 */
+	public void remove() {
+		final var last = heap[--size];
+		var i = 0;
+		final var half = size >>> 1;
+		while (i < half) {
+			var child = 2 * i + 1;
+			if (child + 1 < size && heap[child + 1] < heap[child]) {
+				child++;
+			}
+			if (last <= heap[child]) {
+				break;
+			}
+			heap[i] = heap[child];
+			i = child;
+		}
+		heap[i] = last;
+	}
+
+	public void clear() {
+		size = 0;
+	}
+
+}
@@ -0,0 +1,85 @@
+package de.knallisworld.aoc2025.support.search;
+
+import java.util.Arrays;
+
+/**
+ * Result of a {@link ShortestPath} search.
+ *
+ * @param source       start state
+ * @param target       first settled target state, {@code -1} if none was reached
+ * @param distances    distance per state, {@link #UNREACHABLE} if not reached (or not settled before the target)
+ * @param predecessors predecessor per state on one shortest path, {@code -1} for the source and unreached states
+ */
+public record SearchResult(int source, int target, int[] distances, int[] predecessors) {
+
+	public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+	public boolean found() {
+		return target >= 0;
+	}
+
+	public boolean reachable(final int state) {
+		return distances[state] != UNREACHABLE;
+	}
+
+	public int distance(final int state) {
+		return distances[state];
+	}
+
+	/**
+	 * Distance of the found target.
+	 *
+	 * @throws IllegalStateException if no target was reached
+	 */
+	public int distance() {
+		if (!found()) {
+			throw new IllegalStateException("no target reached");
+		}
+		return distances[target];
+	}
+
+	/**
+	 * One shortest path from the source to the given state (both inclusive), empty if unreachable.
+	 */
+	public int[] path(final int state) {
+		if (!reachable(state)) {
+			return new int[0];
+		}
+		var length = 0;
+		for (var s = state; s >= 0; s = predecessors[s]) {
+			length++;
+		}
+		final var result = new int[length];
+		for (var s = state; s >= 0; s = predecessors[s]) {
+			result[--length] = s;
+		}
+		return result;
+	}
+
+	public int[] path() {
+		return path(target);
+	}
+
+	@Override
+	public String toString() {
+		return "SearchResult[source=%d, target=%d, distance=%s]".formatted(
+				source,
+				target,
+				found() ? Integer.toString(distances[target]) : "-"
+		);
+	}
+
+	static SearchResult create(final int source, final int size) {
+		final var distances = new int[size];
+		Arrays.fill(distances, UNREACHABLE);
+		final var predecessors = new int[size];
+		Arrays.fill(predecessors, -1);
+		distances[source] = 0;
+		return new SearchResult(source, -1, distances, predecessors);
+	}
+
+	SearchResult withTarget(final int target) {
+		return new SearchResult(source, target, distances, predecessors);
+	}
+
+}
@@ -0,0 +1,185 @@
+package de.knallisworld.aoc2025.support.search;
+
+import java.util.BitSet;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Single source shortest path searches over a {@link StateSpace}, working on primitive int distance arrays.
+ * <p>
+ * All searches stop as soon as the first state matching the target predicate is settled; without a target predicate
+ * the complete reachable space is settled. Edge costs must be non-negative and all distances must fit into an int.
+ */
+public class ShortestPath {
+
+	public static SearchResult dijkstra(final StateSpace space,
+										final int source) {
+		return dijkstra(space, source, _ -> false);
+	}
+
+	/**
+	 * Dijkstra with a binary heap of packed (distance, state) longs.
+	 */
+	public static SearchResult dijkstra(final StateSpace space,
+										final int source,
+										final IntPredicate target) {
+		return aStar(space, source, target, _ -> 0);
+	}
+
+	/**
+	 * A* to the given goal cell (in any direction if the space is directed) with the default
+	 * {@link GridStateSpace#manhattanHeuristic(int, int) manhattan heuristic}, which requires every step to cost at
+	 * least 1.
+	 */
+	public static SearchResult aStar(final GridStateSpace space,
+									 final int source,
+									 final int goalX,
+									 final int goalY) {
+		return aStar(
+				space,
+				source,
+				state -> space.x(state) == goalX && space.y(state) == goalY,
+				space.manhattanHeuristic(goalX, goalY)
+		);
+	}
+
+	/**
+	 * A* with a binary heap of packed (estimate, state) longs.
+	 *
+	 * @param heuristic admissible and consistent lower bound of the remaining cost, e.g.
+	 *                  {@link GridStateSpace#manhattanHeuristic(int, int)}
+	 */
+	public static SearchResult aStar(final StateSpace space,
+									 final int source,
+									 final IntPredicate target,
+									 final IntUnaryOperator heuristic) {
+		final var search = new Search(space, source);
+		final var heap = new IntMinHeap();
+		search.enqueue = (state, distance) -> heap.add(state, distance + heuristic.applyAsInt(state));
+		heap.add(source, heuristic.applyAsInt(source));
+		while (!heap.isEmpty()) {
+			final var state = heap.peekState();
+			heap.remove();
+			if (search.settle(state)) {
+				if (target.test(state)) {
+					return search.result.withTarget(state);
+				}
+				search.expand(state);
+			}
+		}
+		return search.result;
+	}
+
+	/**
+	 * 0-1 BFS with a primitive deque; every edge cost must be either 0 or 1.
+	 */
+	public static SearchResult zeroOneBfs(final StateSpace space,
+										  final int source,
+										  final IntPredicate target) {
+		final var search = new Search(space, source);
+		final var deque = new IntDeque();
+		search.maxCost = 1;
+		search.enqueue = (state, distance) -> {
+			// a zero cost edge keeps the distance of the current front
+			if (distance == search.result.distances()[search.current]) {
+				deque.addFirst(state);
+			} else {
+				deque.addLast(state);
+			}
+		};
+		deque.addLast(source);
+		while (!deque.isEmpty()) {
+			final var state = deque.pollFirst();
+			if (search.settle(state)) {
+				if (target.test(state)) {
+					return search.result.withTarget(state);
+				}
+				search.expand(state);
+			}
+		}
+		return search.result;
+	}
+
+	/**
+	 * Dial's algorithm with a {@link BucketQueue}; every edge cost must be within {@code 0..maxCost}.
+	 */
+	public static SearchResult dial(final StateSpace space,
+									final int source,
+									final IntPredicate target,
+									final int maxCost) {
+		final var search = new Search(space, source);
+		final var queue = new BucketQueue(maxCost);
+		search.maxCost = maxCost;
+		search.enqueue = queue::add;
+		queue.add(source, 0);
+		while (!queue.isEmpty()) {
+			final var state = queue.poll();
+			if (search.settle(state)) {
+				if (target.test(state)) {
+					return search.result.withTarget(state);
+				}
+				search.expand(state);
+			}
+		}
+		return search.result;
+	}
+
+	/**
+	 * Shared bookkeeping; doubles as the (single, reused) edge consumer.
+	 */
+	private static final class Search implements StateSpace.EdgeConsumer {
+
+		@FunctionalInterface
+		interface Enqueue {
+
+			void accept(int state, int distance);
+
+		}
+
+		private final StateSpace space;
+		private final SearchResult result;
+		private final BitSet settled;
+		private Enqueue enqueue = (_, _) -> {
+		};
+		private int maxCost = Integer.MAX_VALUE;
+		private int current;
+
+		private Search(final StateSpace space, final int source) {
+			this.space = space;
+			this.result = SearchResult.create(source, space.size());
+			this.settled = new BitSet(space.size());
+		}
+
+		/**
+		 * @return false if the state was settled already (stale queue entry)
+		 */
+		private boolean settle(final int state) {
+			if (settled.get(state)) {
+				return false;
+			}
+			settled.set(state);
+			return true;
+		}
+
+		private void expand(final int state) {
+			current = state;
+			space.forEachSuccessor(state, this);
+		}
+
+		@Override
+		public void accept(final int target, final int cost) {
+			if (cost < 0 || cost > maxCost) {
+				throw new IllegalArgumentException("edge cost %d out of range [0, %d]".formatted(cost, maxCost));
+			}
+			final var distances = result.distances();
+			final var distance = distances[current] + cost;
+			if (distance < distances[target]) {
+				distances[target] = distance;
+				result.predecessors()[target] = current;
+				enqueue.accept(target, distance);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,26 @@
+package de.knallisworld.aoc2025.support.search;
+
+/**
+ * Abstract (directed, weighted) state space for {@link ShortestPath}. States are encoded as ints {@code 0..size-1},
+ * so distances and predecessors fit into primitive arrays.
+ */
+public interface StateSpace {
+
+	/**
+	 * Number of states, all states must be in {@code 0..size-1}.
+	 */
+	int size();
+
+	/**
+	 * Emits all successors of the given state with their non-negative edge costs.
+	 */
+	void forEachSuccessor(int state, EdgeConsumer consumer);
+
+	@FunctionalInterface
+	interface EdgeConsumer {
+
+		void accept(int target, int cost);
+
+	}
+
+}
@@ -0,0 +1,4 @@
+@NullMarked
+package de.knallisworld.aoc2025.support.search;
+
+import org.jspecify.annotations.NullMarked;
@@ -0,0 +1,134 @@
+package de.knallisworld.aoc2025.support.geo.grid2;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API implementations of {@link GridKernels}. This is the only class referencing
+ * {@code jdk.incubator.vector}; it is only compiled with the Maven profile {@code vector} and loaded reflectively by
+ * {@link GridKernels} if that module is present.
+ */
+final class VectorGridKernels implements GridKernels.Vectorized {
+
+	private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+	private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+	// chars are loaded as (unsigned) shorts
+	private static final VectorSpecies<Short> SHORTS = ShortVector.SPECIES_PREFERRED;
+
+	private static final VectorShuffle<Integer> REVERSE_INTS = reverse(INTS);
+	private static final VectorShuffle<Long> REVERSE_LONGS = reverse(LONGS);
+	private static final VectorShuffle<Short> REVERSE_SHORTS = reverse(SHORTS);
+
+	VectorGridKernels() {
+	}
+
+	private static <E> VectorShuffle<E> reverse(final VectorSpecies<E> species) {
+		return VectorShuffle.fromOp(species, i -> species.length() - 1 - i);
+	}
+
+	@Override
+	public long count(final int[] data, final int value) {
+		var count = 0L;
+		var i = 0;
+		for (final var bound = INTS.loopBound(data.length); i < bound; i += INTS.length()) {
+			count += IntVector.fromArray(INTS, data, i).eq(value).trueCount();
+		}
+		for (; i < data.length; i++) {
+			if (data[i] == value) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	@Override
+	public long count(final long[] data, final long value) {
+		var count = 0L;
+		var i = 0;
+		for (final var bound = LONGS.loopBound(data.length); i < bound; i += LONGS.length()) {
+			count += LongVector.fromArray(LONGS, data, i).eq(value).trueCount();
+		}
+		for (; i < data.length; i++) {
+			if (data[i] == value) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	@Override
+	public long count(final char[] data, final char value) {
+		var count = 0L;
+		var i = 0;
+		for (final var bound = SHORTS.loopBound(data.length); i < bound; i += SHORTS.length()) {
+			count += ShortVector.fromCharArray(SHORTS, data, i).eq((short) value).trueCount();
+		}
+		for (; i < data.length; i++) {
+			if (data[i] == value) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Swaps whole vectors from both ends of each row, each reversed by a lane shuffle; the middle rest is scalar.
+	 */
+	@Override
+	public void reverseRows(final int[] data, final int width) {
+		final var lanes = INTS.length();
+		for (var row = 0; row < data.length; row += width) {
+			var left = row;
+			var right = row + width;
+			while (right - left >= 2 * lanes) {
+				right -= lanes;
+				final var l = IntVector.fromArray(INTS, data, left).rearrange(REVERSE_INTS);
+				final var r = IntVector.fromArray(INTS, data, right).rearrange(REVERSE_INTS);
+				r.intoArray(data, left);
+				l.intoArray(data, right);
+				left += lanes;
+			}
+			GridKernels.reverse(data, left, right - 1);
+		}
+	}
+
+	@Override
+	public void reverseRows(final long[] data, final int width) {
+		final var lanes = LONGS.length();
+		for (var row = 0; row < data.length; row += width) {
+			var left = row;
+			var right = row + width;
+			while (right - left >= 2 * lanes) {
+				right -= lanes;
+				final var l = LongVector.fromArray(LONGS, data, left).rearrange(REVERSE_LONGS);
+				final var r = LongVector.fromArray(LONGS, data, right).rearrange(REVERSE_LONGS);
+				r.intoArray(data, left);
+				l.intoArray(data, right);
+				left += lanes;
+			}
+			GridKernels.reverse(data, left, right - 1);
+		}
+	}
+
+	@Override
+	public void reverseRows(final char[] data, final int width) {
+		final var lanes = SHORTS.length();
+		for (var row = 0; row < data.length; row += width) {
+			var left = row;
+			var right = row + width;
+			while (right - left >= 2 * lanes) {
+				right -= lanes;
+				final var l = ShortVector.fromCharArray(SHORTS, data, left).rearrange(REVERSE_SHORTS);
+				final var r = ShortVector.fromCharArray(SHORTS, data, right).rearrange(REVERSE_SHORTS);
+				r.intoCharArray(data, left);
+				l.intoCharArray(data, right);
+				left += lanes;
+			}
+			GridKernels.reverse(data, left, right - 1);
+		}
+	}
+
+}